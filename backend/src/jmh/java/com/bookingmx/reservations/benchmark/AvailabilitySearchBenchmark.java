@@ -0,0 +1,106 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.model.Hotel;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.service.HotelInventory;
+import com.bookingmx.reservations.service.NameInterner;
+import com.bookingmx.reservations.service.ReservationService;
+import com.bookingmx.reservations.service.Vacancy;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Which hotels have a room from X to Y": the service's search over nightly range-max counters, against
+ * a reference that counts nights from {@code findAll()} as the only way to answer it used to be.
+ * Reservations are spread over two years ahead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class AvailabilitySearchBenchmark {
+    private static final int DAYS = 730;
+    private static final int ROOMS = 20;
+    private static final int STAYS_PER_HOTEL = 60;
+
+    @Param({"1000", "10000"})
+    int hotels;
+
+    @Param({"3", "30"})
+    int nights;
+
+    private ValidatorFactory validation;
+    private ReservationService service;
+    private ReservationRepository repo;
+    private HotelInventory inventory;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        validation = Validation.buildDefaultValidatorFactory();
+        repo = new ReservationRepository();
+        inventory = new HotelInventory("");
+        service = new ReservationService(repo, validation.getValidator(), new NameInterner(100_000), inventory);
+        today = LocalDate.now();
+        Random random = new Random(42);
+        for (int h = 0; h < hotels; h++) {
+            String name = "Hotel " + h;
+            inventory.register(name, ROOMS);
+            List<Reservation> stays = new ArrayList<>(STAYS_PER_HOTEL);
+            for (int i = 0; i < STAYS_PER_HOTEL; i++) {
+                LocalDate in = today.plusDays(random.nextInt(DAYS - 7));
+                stays.add(new Reservation(null, "Guest " + i, name, in, in.plusDays(1 + random.nextInt(7))));
+            }
+            repo.saveAll(stays);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        validation.close();
+    }
+
+    private LocalDate randomFrom() {
+        return today.plusDays(ThreadLocalRandom.current().nextInt(DAYS - nights));
+    }
+
+    @Benchmark
+    public List<Vacancy> search() {
+        LocalDate from = randomFrom();
+        return service.findAvailable(from, from.plusDays(nights), 1);
+    }
+
+    @Benchmark
+    public List<String> search_findAllReference() {
+        LocalDate from = randomFrom();
+        LocalDate to = from.plusDays(nights);
+        Map<String, int[]> booked = new HashMap<>();
+        for (Reservation r : repo.findAll()) {
+            if (!r.isActive() || !r.getCheckIn().isBefore(to) || !r.getCheckOut().isAfter(from)) continue;
+            int[] counts = booked.computeIfAbsent(r.getHotelName(), k -> new int[nights]);
+            for (LocalDate d = r.getCheckIn().isBefore(from) ? from : r.getCheckIn(); d.isBefore(r.getCheckOut()) && d.isBefore(to); d = d.plusDays(1)) {
+                counts[(int) (d.toEpochDay() - from.toEpochDay())]++;
+            }
+        }
+        List<String> available = new ArrayList<>();
+        for (Hotel hotel : inventory.list()) {
+            int peak = 0;
+            for (int c : booked.getOrDefault(hotel.getName(), new int[0])) peak = Math.max(peak, c);
+            if (hotel.getRooms() - peak >= 1) available.add(hotel.getName());
+        }
+        return available;
+    }
+}
@@ -0,0 +1,99 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Entry point for {@code mvn -Pbenchmarks test-compile exec:exec}. Configured through system properties:
+ * <ul>
+ *   <li>{@code benchmark} - regex of benchmarks to run (default all)</li>
+ *   <li>{@code benchmark.threads} - comma-separated thread counts; each is a separate run (default: per benchmark)</li>
+ *   <li>{@code benchmark.result} - JSON result file (default {@code target/jmh-result.json})</li>
+ *   <li>{@code benchmark.baseline} - earlier JSON result to compare against; exits 1 on a regression</li>
+ *   <li>{@code benchmark.tolerance} - allowed slowdown before it counts as a regression (default 0.10)</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() { }
+
+    public static void main(String[] args) throws Exception {
+        String include = System.getProperty("benchmark", ".*");
+        String threads = System.getProperty("benchmark.threads", "");
+        Path result = Path.of(System.getProperty("benchmark.result", "target/jmh-result.json"));
+        String baseline = System.getProperty("benchmark.baseline", "");
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.10"));
+
+        List<RunResult> results = new ArrayList<>();
+        if (threads.isBlank()) {
+            results.addAll(new Runner(options(include).build()).run());
+        } else {
+            for (String t : threads.split(",")) {
+                results.addAll(new Runner(options(include).threads(Integer.parseInt(t.trim())).build()).run());
+            }
+        }
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(result))) {
+            ResultFormatFactory.getInstance(ResultFormatType.JSON, out).writeOut(results);
+        }
+        System.out.println("Results written to " + result);
+
+        if (!baseline.isBlank() && regressions(Path.of(baseline), result, tolerance) > 0) System.exit(1);
+    }
+
+    private static ChainedOptionsBuilder options(String include) {
+        return new OptionsBuilder().include(include).shouldFailOnError(true);
+    }
+
+    /** Prints every benchmark that got slower than the baseline by more than {@code tolerance}; returns how many. */
+    static int regressions(Path baseline, Path current, double tolerance) throws IOException {
+        Map<String, JsonNode> before = byKey(baseline);
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> e : byKey(current).entrySet()) {
+            JsonNode old = before.get(e.getKey());
+            if (old == null) continue;
+            double was = old.at("/primaryMetric/score").asDouble();
+            double now = e.getValue().at("/primaryMetric/score").asDouble();
+            // throughput: higher is better; every other mode reports time per op
+            boolean higherIsBetter = "thrpt".equals(e.getValue().path("mode").asText());
+            double slowdown = higherIsBetter ? (was - now) / was : (now - was) / was;
+            if (slowdown > tolerance) {
+                regressions++;
+                System.out.printf("REGRESSION %s: %.3f -> %.3f %s (%+.1f%%)%n", e.getKey(), was, now,
+                        e.getValue().at("/primaryMetric/scoreUnit").asText(), slowdown * 100);
+            }
+        }
+        System.out.println(regressions == 0 ? "No regressions against " + baseline : regressions + " regression(s) against " + baseline);
+        return regressions;
+    }
+
+    private static Map<String, JsonNode> byKey(Path file) throws IOException {
+        Map<String, JsonNode> runs = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText())
+                    .append(" threads=").append(run.path("threads").asInt());
+            new TreeMap<String, String>(toMap(run.path("params"))).forEach((k, v) -> key.append(' ').append(k).append('=').append(v));
+            runs.put(key.toString(), run);
+        }
+        return runs;
+    }
+
+    private static Map<String, String> toMap(JsonNode params) {
+        Map<String, String> map = new HashMap<>();
+        params.properties().forEach(f -> map.put(f.getKey(), f.getValue().asText()));
+        return map;
+    }
+}
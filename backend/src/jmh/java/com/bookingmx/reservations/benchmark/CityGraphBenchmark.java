@@ -0,0 +1,67 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.dto.NearbyCityResponse;
+import com.bookingmx.reservations.graph.CityGraph;
+import com.bookingmx.reservations.graph.RoadNetwork.Road;
+import com.bookingmx.reservations.service.CityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby-city searches on a national-scale road network: a grid of towns 10-30 km apart with a few
+ * longer highways. {@code search} runs bounded Dijkstra every time; {@code cached} goes through
+ * {@link CityService}, which answers repeated (city, radius band) pairs from its cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CityGraphBenchmark {
+
+    @Param({"100000", "1000000"})
+    int cities;
+
+    @Param({"50", "250"})
+    double maxKm;
+
+    private CityGraph graph;
+    private CityService service;
+
+    @Setup(Level.Trial)
+    public void build() {
+        int side = (int) Math.sqrt(cities);
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>(side * side);
+        for (int i = 0; i < side * side; i++) names.add("Town " + i);
+        List<Road> roads = new ArrayList<>(side * side * 2);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int id = r * side + c;
+                if (c + 1 < side) roads.add(new Road(names.get(id), names.get(id + 1), 10 + random.nextInt(20)));
+                if (r + 1 < side) roads.add(new Road(names.get(id), names.get(id + side), 10 + random.nextInt(20)));
+                if (random.nextInt(50) == 0) roads.add(new Road(names.get(id), names.get(random.nextInt(side * side)), 80 + random.nextInt(120)));
+            }
+        }
+        graph = CityGraph.build(names, roads);
+        service = new CityService(graph, 50, 5_000, 1_000);
+    }
+
+    @Benchmark
+    public CityGraph.Reach search() {
+        return graph.nearby(ThreadLocalRandom.current().nextInt(graph.size()), maxKm);
+    }
+
+    /** 500 popular destinations, so the cache (1,000 entries) holds them all after warmup. */
+    @Benchmark
+    public List<NearbyCityResponse> cached() {
+        return service.nearby(graph.name(ThreadLocalRandom.current().nextInt(500)), maxKm);
+    }
+}
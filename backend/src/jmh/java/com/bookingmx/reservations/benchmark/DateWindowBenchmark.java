@@ -0,0 +1,79 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A week of arrivals and departures out of three years of reservations (two past, sealed, and one ahead),
+ * through the check-in month partitions, against a {@code findAll()} scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class DateWindowBenchmark {
+    private static final int DAYS = 3 * 365;
+    private static final int WINDOW = 7;
+
+    @Param({"100000", "1000000"})
+    int reservations;
+
+    private ReservationRepository repo;
+    private LocalDate first;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        repo = new ReservationRepository();
+        first = LocalDate.now().minusDays(2 * 365);
+        Random random = new Random(42);
+        List<Reservation> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < reservations; i++) {
+            LocalDate in = first.plusDays(random.nextInt(DAYS));
+            batch.add(new Reservation(null, "Guest " + i, "Hotel " + i % 500, in, in.plusDays(1 + random.nextInt(14))));
+            if (batch.size() == 10_000) {
+                repo.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repo.saveAll(batch);
+        repo.sealMonthsBefore(YearMonth.now());
+    }
+
+    private LocalDate randomFrom() {
+        return first.plusDays(ThreadLocalRandom.current().nextInt(DAYS - WINDOW));
+    }
+
+    @Benchmark
+    public List<Reservation> arrivals() {
+        LocalDate from = randomFrom();
+        return repo.findArrivals(from, from.plusDays(WINDOW));
+    }
+
+    @Benchmark
+    public List<Reservation> departures() {
+        LocalDate from = randomFrom();
+        return repo.findDepartures(from, from.plusDays(WINDOW));
+    }
+
+    @Benchmark
+    public List<Reservation> arrivals_findAllReference() {
+        LocalDate from = randomFrom();
+        LocalDate to = from.plusDays(WINDOW);
+        return repo.findAll().stream()
+                .filter(r -> r.isActive() && !r.getCheckIn().isBefore(from) && r.getCheckIn().isBefore(to))
+                .sorted(Comparator.comparing(Reservation::getCheckIn).thenComparing(Reservation::getId))
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.service.NameInterner;
+import com.bookingmx.reservations.service.ReservationService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service updates under hotel locks, each thread on its own reservation: either every thread in its own
+ * hotel (spread over the repository's shards) or all threads in one hotel (one shard lock). Every update also
+ * goes through the repository-wide change log and indexes, so {@code distinct} only scales with cores if
+ * none of them serializes writers. Run with {@code -Dbenchmark.threads=1,2,4,8,16,32,64} to see how each scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class HotelContentionBenchmark {
+
+    @Param({"distinct", "shared"})
+    String hotels;
+
+    private ValidatorFactory validation;
+    private ReservationService service;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void open() {
+        validation = Validation.buildDefaultValidatorFactory();
+        service = new ReservationService(new ReservationRepository(), validation.getValidator(), new NameInterner(100_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        validation.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        Long id;
+        ReservationRequest request;
+
+        @Setup(Level.Trial)
+        public void book(HotelContentionBenchmark bench) {
+            int n = bench.threads.getAndIncrement();
+            request = new ReservationRequest();
+            request.setGuestName("Guest " + n);
+            request.setHotelName("distinct".equals(bench.hotels) ? "Hotel " + n : "Paradise Inn");
+            request.setCheckIn(LocalDate.now().plusDays(1));
+            request.setCheckOut(LocalDate.now().plusDays(3));
+            id = bench.service.create(request).getId();
+        }
+    }
+
+    @Benchmark
+    public Reservation update(Writer writer) {
+        return service.update(writer.id, writer.request);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import com.bookingmx.reservations.repo.journal.WriteAheadLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * save() throughput in memory-only vs. write-ahead-log mode. With many writer threads the
+ * group commit amortizes each fsync over everything queued behind it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class JournalSaveBenchmark {
+
+    @Param({"memory", "wal"})
+    String mode;
+
+    private Path dir;
+    private ReservationJournal journal;
+    private ReservationRepository repo;
+    private LocalDate checkIn;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException {
+        dir = Files.createTempDirectory("bookingmx-wal-bench");
+        journal = "wal".equals(mode) ? new WriteAheadLog(dir) : ReservationJournal.NONE;
+        repo = new ReservationRepository(journal);
+        checkIn = LocalDate.now().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+
+    @Benchmark
+    public Reservation save() {
+        return repo.save(new Reservation(null, "Juan", "Paradise Inn", checkIn, checkIn.plusDays(2)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap query at one hotel: per-hotel interval index vs. a linear scan of findAll().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OverlapQueryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int reservations;
+
+    @Param({"100"})
+    int hotels;
+
+    private ReservationRepository repo;
+    private LocalDate base;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        repo = new ReservationRepository();
+        base = LocalDate.now().plusDays(1);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < reservations; i++) {
+            LocalDate in = base.plusDays(random.nextInt(730));
+            repo.save(new Reservation(null, "guest-" + i, "hotel-" + random.nextInt(hotels), in, in.plusDays(1 + random.nextInt(14))));
+        }
+    }
+
+    @Benchmark
+    public List<Reservation> intervalIndex() {
+        return repo.findOverlapping("hotel-7", base.plusDays(300), base.plusDays(303));
+    }
+
+    @Benchmark
+    public List<Reservation> linearScan() {
+        LocalDate from = base.plusDays(300);
+        LocalDate to = base.plusDays(303);
+        return repo.findAll().stream()
+                .filter(r -> r.isActive() && r.getHotelName().equals("hotel-7"))
+                .filter(r -> r.getCheckIn().isBefore(to) && r.getCheckOut().isAfter(from))
+                .toList();
+    }
+}
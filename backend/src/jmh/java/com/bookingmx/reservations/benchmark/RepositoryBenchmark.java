@@ -0,0 +1,73 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ColumnarReservationStore;
+import com.bookingmx.reservations.repo.MapReservationStore;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReservationRepository save/update/findById/findAll against a pre-filled store, per store layout.
+ * Run with -Dbenchmark.threads=1,8,32 to see contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class RepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int storeSize;
+
+    @Param({"map", "columnar"})
+    String layout;
+
+    private ReservationRepository repo;
+    private LocalDate checkIn;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        repo = new ReservationRepository(ReservationJournal.NONE,
+                "columnar".equals(layout) ? new ColumnarReservationStore() : new MapReservationStore());
+        checkIn = LocalDate.now().plusDays(1);
+        for (int i = 0; i < storeSize; i++) {
+            LocalDate in = checkIn.plusDays(i % 365);
+            repo.save(new Reservation(null, "guest-" + i, "hotel-" + (i % 100), in, in.plusDays(2)));
+        }
+    }
+
+    /** Inserts grow the store, so each iteration is a fixed batch rather than a timed run. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5, batchSize = 10_000)
+    @Measurement(iterations = 20, batchSize = 10_000)
+    public Reservation save() {
+        return repo.save(new Reservation(null, "Juan", "Paradise Inn", checkIn, checkIn.plusDays(2)));
+    }
+
+    @Benchmark
+    public Optional<Reservation> update() {
+        return repo.update(ThreadLocalRandom.current().nextLong(1, storeSize + 1), r -> r);
+    }
+
+    @Benchmark
+    public Optional<Reservation> findById() {
+        return repo.findById(ThreadLocalRandom.current().nextLong(1, storeSize + 1));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Reservation> findAll() {
+        return repo.findAll();
+    }
+}
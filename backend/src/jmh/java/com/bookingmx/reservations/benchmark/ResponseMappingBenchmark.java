@@ -0,0 +1,54 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.dto.ReservationResponse;
+import com.bookingmx.reservations.model.Reservation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The controller's response path: Reservation -> ReservationResponse mapping, then JSON serialization
+ * with an ObjectMapper configured like Spring MVC's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"1", "100", "1000"})
+    int listSize;
+
+    private ObjectMapper objectMapper;
+    private List<Reservation> reservations;
+    private List<ReservationResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDate in = LocalDate.now().plusDays(1);
+        reservations = new ArrayList<>(listSize);
+        for (long id = 1; id <= listSize; id++) {
+            reservations.add(new Reservation(id, "guest-" + id, "hotel-" + (id % 10), in, in.plusDays(2)));
+        }
+        responses = reservations.stream().map(ReservationResponse::from).toList();
+    }
+
+    @Benchmark
+    public List<ReservationResponse> toResponse() {
+        return reservations.stream().map(ReservationResponse::from).toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,70 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.service.NameInterner;
+import com.bookingmx.reservations.service.ReservationService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReservationService create/update/cancel end to end (bean validation aside), over an in-memory repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10000", "100000"})
+    int storeSize;
+
+    private ValidatorFactory validation;
+    private ReservationService service;
+    private ReservationRequest request;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        validation = Validation.buildDefaultValidatorFactory();
+        service = new ReservationService(new ReservationRepository(), validation.getValidator(), new NameInterner(100_000));
+        request = new ReservationRequest();
+        request.setGuestName("Juan");
+        request.setHotelName("Paradise Inn");
+        request.setCheckIn(LocalDate.now().plusDays(1));
+        request.setCheckOut(LocalDate.now().plusDays(3));
+        for (int i = 0; i < storeSize; i++) service.create(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        validation.close();
+    }
+
+    /** Creates grow the store, so each iteration is a fixed batch rather than a timed run. */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5, batchSize = 10_000)
+    @Measurement(iterations = 20, batchSize = 10_000)
+    public Reservation create() {
+        return service.create(request);
+    }
+
+    @Benchmark
+    public Reservation update() {
+        return service.update(ThreadLocalRandom.current().nextLong(1, storeSize + 1), request);
+    }
+
+    @Benchmark
+    public Reservation cancel() {
+        return service.cancel(ThreadLocalRandom.current().nextLong(1, storeSize + 1));
+    }
+}
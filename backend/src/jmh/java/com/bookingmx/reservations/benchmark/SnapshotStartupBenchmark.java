@@ -0,0 +1,87 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.repo.journal.WriteAheadLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.AbstractCollection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold start: open the journal directory and rebuild ReservationRepository (store and all indexes)
+ * from a snapshot of 1M or 10M reservations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms16g", "-Xmx16g"})
+public class SnapshotStartupBenchmark {
+
+    @Param({"1000000", "10000000"})
+    int reservations;
+
+    private Path dir;
+    private WriteAheadLog wal;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        dir = Files.createTempDirectory("bookingmx-snapshot-bench");
+        try (WriteAheadLog writer = new WriteAheadLog(dir)) {
+            writer.checkpoint(writer.rotate(), generated(reservations));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeJournal() {
+        wal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+
+    @Benchmark
+    public ReservationRepository startup() throws IOException {
+        wal = new WriteAheadLog(dir);
+        return new ReservationRepository(wal);
+    }
+
+    /** Streams synthetic reservations into the snapshot writer without holding them all in memory. */
+    private static AbstractCollection<Reservation> generated(int n) {
+        LocalDate base = LocalDate.now().plusDays(1);
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Reservation> iterator() {
+                return new Iterator<>() {
+                    long id = 1;
+
+                    @Override
+                    public boolean hasNext() { return id <= n; }
+
+                    @Override
+                    public Reservation next() {
+                        long i = id++;
+                        LocalDate in = base.plusDays(i % 730);
+                        return new Reservation(i, "guest-" + (i % 1_000_000), "hotel-" + (i % 5_000), in, in.plusDays(1 + i % 14));
+                    }
+                };
+            }
+
+            @Override
+            public int size() { return n; }
+        };
+    }
+}
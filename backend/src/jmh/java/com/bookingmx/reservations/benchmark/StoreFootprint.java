@@ -0,0 +1,61 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ColumnarReservationStore;
+import com.bookingmx.reservations.repo.MapReservationStore;
+import com.bookingmx.reservations.repo.ReservationStore;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Retained heap per reservation of each {@link ReservationStore}. Names are built before the baseline and
+ * shared, as the name interner shares them in the app, so only what the store itself holds is counted.
+ * <p>
+ * {@code mvn -Pbenchmarks test-compile exec:exec@footprint [-Dfootprint.reservations=1000000]
+ * [-Dfootprint.guests=100000] [-Dfootprint.hotels=1000]}
+ */
+public final class StoreFootprint {
+
+    private StoreFootprint() { }
+
+    public static void main(String[] args) {
+        int reservations = Integer.getInteger("footprint.reservations", 1_000_000);
+        List<String> guests = names("guest-", Integer.getInteger("footprint.guests", 100_000));
+        List<String> hotels = names("hotel-", Integer.getInteger("footprint.hotels", 1_000));
+
+        System.out.printf("%d reservations, %d guests, %d hotels%n", reservations, guests.size(), hotels.size());
+        measure("map", MapReservationStore::new, reservations, guests, hotels);
+        measure("columnar", ColumnarReservationStore::new, reservations, guests, hotels);
+    }
+
+    private static void measure(String layout, Supplier<ReservationStore> stores, int reservations, List<String> guests, List<String> hotels) {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate base = LocalDate.of(2030, 1, 1);
+        long before = usedHeap();
+        ReservationStore store = stores.get();
+        for (long id = 1; id <= reservations; id++) {
+            LocalDate in = base.plusDays(random.nextInt(365));
+            Reservation r = new Reservation(id, guests.get(random.nextInt(guests.size())), hotels.get(random.nextInt(hotels.size())),
+                    in, in.plusDays(1 + random.nextInt(7)));
+            store.compute(id, (k, previous) -> r);
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%-9s %8.1f bytes/reservation%n", layout, (double) retained / store.size());
+    }
+
+    private static List<String> names(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).toList();
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
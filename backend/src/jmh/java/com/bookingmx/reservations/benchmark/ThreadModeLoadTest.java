@@ -0,0 +1,168 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.BookingMxApplication;
+import jakarta.servlet.Filter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * In-process load driver comparing Tomcat on platform threads with Tomcat on virtual threads.
+ * <p>
+ * For each mode the app is started on a random port in WAL mode, so every POST blocks on a group-commit
+ * fsync the way a blocking persistence layer would. At each concurrency level that many clients POST
+ * reservations back to back for {@code load.seconds}. The report has p50/p99 latency, throughput, errors,
+ * and the most requests the server was serving at once.
+ * <p>
+ * {@code mvn -Pbenchmarks test-compile exec:exec@load-test [-Dload.concurrency=50,500,2000] [-Dload.seconds=10]}
+ */
+public final class ThreadModeLoadTest {
+
+    private ThreadModeLoadTest() { }
+
+    public static void main(String[] args) throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("load.concurrency", "50,200,1000,2000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("load.seconds", 10));
+        String[] modes = System.getProperty("load.modes", "platform,virtual").split(",");
+
+        System.out.printf("%-9s %6s %10s %10s %10s %8s %12s%n", "mode", "conc", "p50 ms", "p99 ms", "req/s", "errors", "max serving");
+        for (String mode : modes) {
+            Path dir = Files.createTempDirectory("bookingmx-load");
+            InFlight inFlight = new InFlight();
+            try (ConfigurableApplicationContext app = start(mode.trim(), dir, inFlight)) {
+                URI uri = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/api/reservations");
+                for (int level : levels) {
+                    inFlight.reset();
+                    Result r = drive(uri, level, duration);
+                    System.out.printf("%-9s %6d %10.2f %10.2f %10.0f %8d %12d%n", mode.trim(), level,
+                            r.percentile(0.50), r.percentile(0.99), r.throughput(duration), r.errors, inFlight.max.get());
+                }
+            } finally {
+                delete(dir);
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode, Path dir, InFlight inFlight) {
+        return new SpringApplicationBuilder(BookingMxApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                        "bookingmx.persistence.mode=wal",
+                        "bookingmx.persistence.dir=" + dir,
+                        "logging.level.root=WARN")
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("inFlightFilter", inFlight.filter()))
+                .run();
+    }
+
+    private static Result drive(URI uri, int clients, Duration duration) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        LocalDate in = LocalDate.now().plusDays(1);
+        String body = "{\"guestName\":\"Load\",\"hotelName\":\"Load Hotel\",\"checkIn\":\"" + in + "\",\"checkOut\":\"" + in.plusDays(2) + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> futures = new ArrayList<>(clients);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                futures.add(pool.submit(() -> {
+                    Result mine = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 201) mine.record(System.nanoTime() - start);
+                            else mine.errors++;
+                        } catch (IOException e) {
+                            mine.errors++;
+                        }
+                    }
+                    return mine;
+                }));
+            }
+            Result all = new Result();
+            for (Future<Result> f : futures) all.merge(f.get());
+            return all;
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+
+    /** Counts requests currently inside the servlet container, keeping the high-water mark. */
+    private static final class InFlight {
+        final AtomicInteger current = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+
+        Filter filter() {
+            return (req, res, chain) -> {
+                max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                try {
+                    chain.doFilter(req, res);
+                } finally {
+                    current.decrementAndGet();
+                }
+            };
+        }
+
+        void reset() {
+            max.set(current.get());
+        }
+    }
+
+    private static final class Result {
+        long[] latencies = new long[1024];
+        int count;
+        int errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = nanos;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) record(other.latencies[i]);
+            errors += other.errors;
+        }
+
+        double percentile(double p) {
+            if (count == 0) return Double.NaN;
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.min(count - 1, Math.ceil(p * count) - 1)] / 1_000_000.0;
+        }
+
+        double throughput(Duration duration) {
+            return count / (duration.toMillis() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.exception.ApiExceptionHandler;
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.service.NameInterner;
+import com.bookingmx.reservations.service.ReservationService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request validation: bean validation of a valid and an invalid request, and the service
+ * rejecting bad dates (the exception path every 400 goes through). The {@code rejected*} benchmarks
+ * report throughput for a past-dated request turned into a 400 body, against a reference that does the
+ * same with a fresh exception and stack trace, as every rejection used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validation;
+    private Validator validator;
+    private ReservationService service;
+    private ReservationRequest valid;
+    private ReservationRequest blankNames;
+    private ReservationRequest checkOutBeforeCheckIn;
+    private ReservationRequest pastCheckIn;
+    private ApiExceptionHandler handler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validation = Validation.buildDefaultValidatorFactory();
+        validator = validation.getValidator();
+        service = new ReservationService(new ReservationRepository(), validator, new NameInterner(100_000));
+        LocalDate today = LocalDate.now();
+        valid = request("Juan", "Paradise Inn", today.plusDays(1), today.plusDays(3));
+        blankNames = request("", "", today.plusDays(1), today.plusDays(3));
+        checkOutBeforeCheckIn = request("Juan", "Paradise Inn", today.plusDays(5), today.plusDays(3));
+        pastCheckIn = request("Juan", "Paradise Inn", today.minusDays(3), today.plusDays(3));
+        handler = new ApiExceptionHandler();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        validation.close();
+    }
+
+    private static ReservationRequest request(String guest, String hotel, LocalDate in, LocalDate out) {
+        ReservationRequest r = new ReservationRequest();
+        r.setGuestName(guest);
+        r.setHotelName(hotel);
+        r.setCheckIn(in);
+        r.setCheckOut(out);
+        return r;
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ReservationRequest>> beanValidation_valid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ReservationRequest>> beanValidation_invalid() {
+        return validator.validate(blankNames);
+    }
+
+    @Benchmark
+    public Object serviceRejectsDates() {
+        try {
+            return service.create(checkOutBeforeCheckIn);
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object rejectedPastDates() {
+        try {
+            return service.create(pastCheckIn);
+        } catch (BadRequestException e) {
+            return handler.badRequest(e);
+        }
+    }
+
+    /** The old path: LocalDate.now() per check, a stack trace per rejection and a freshly formatted timestamp. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object rejectedPastDates_stackTraceReference() {
+        try {
+            if (pastCheckIn.getCheckIn().isBefore(LocalDate.now())) throw new IllegalArgumentException("Check-in must be in the future");
+            return pastCheckIn;
+        } catch (IllegalArgumentException e) {
+            return Map.of("timestamp", Instant.now().toString(), "status", 400, "message", e.getMessage());
+        }
+    }
+}
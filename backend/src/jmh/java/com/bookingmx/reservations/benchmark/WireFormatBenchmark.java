@@ -0,0 +1,68 @@
+package com.bookingmx.reservations.benchmark;
+
+import com.bookingmx.reservations.controller.WireFormat;
+import com.bookingmx.reservations.dto.ReservationResponse;
+import com.bookingmx.reservations.model.Reservation;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding cost of a reservation list per {@link WireFormat}: JSON as Spring MVC writes it, and
+ * CBOR with epoch-day dates and status ordinals. The payload size of each combination is printed at setup.
+ * Decoding reads into maps, as a client without the DTO classes would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    WireFormat format;
+
+    @Param({"1", "100", "1000"})
+    int listSize;
+
+    private ObjectMapper mapper;
+    private JavaType listOfMaps;
+    private List<ReservationResponse> responses;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = format == WireFormat.CBOR ? WireFormat.cborMapper() : Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        listOfMaps = mapper.getTypeFactory().constructCollectionType(List.class, Map.class);
+        LocalDate in = LocalDate.now().plusDays(1);
+        List<Reservation> reservations = new ArrayList<>(listSize);
+        for (long id = 1; id <= listSize; id++) {
+            reservations.add(new Reservation(id, "guest-" + id, "hotel-" + (id % 10), in.plusDays(id % 30), in.plusDays(id % 30 + 2)));
+        }
+        responses = reservations.stream().map(ReservationResponse::from).toList();
+        encoded = mapper.writeValueAsBytes(responses);
+        System.out.printf("%n%s, %d reservations: %d bytes (%.1f per reservation)%n",
+                format, listSize, encoded.length, (double) encoded.length / listSize);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> deserialize() throws IOException {
+        return mapper.readValue(encoded, listOfMaps);
+    }
+}
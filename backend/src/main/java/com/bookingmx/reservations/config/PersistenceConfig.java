@@ -0,0 +1,50 @@
+package com.bookingmx.reservations.config;
+
+import com.bookingmx.reservations.repo.ColumnarReservationStore;
+import com.bookingmx.reservations.repo.MapReservationStore;
+import com.bookingmx.reservations.repo.ReservationStore;
+import com.bookingmx.reservations.repo.archive.MappedArchive;
+import com.bookingmx.reservations.repo.archive.ReservationArchive;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import com.bookingmx.reservations.repo.journal.WriteAheadLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Selects how reservations are persisted: {@code memory} (default, nothing survives a restart)
+ * or {@code wal} (write-ahead log plus periodic snapshots under {@code bookingmx.persistence.dir}),
+ * how they are laid out in memory: {@code map} (default) or {@code columnar}, and whether finished ones
+ * are archived: to {@code archive/} under the persistence directory with {@code wal}, to a temporary
+ * directory otherwise.
+ */
+@Configuration
+@EnableScheduling
+public class PersistenceConfig {
+
+    @Bean
+    public ReservationJournal reservationJournal(@Value("${bookingmx.persistence.mode}") String mode,
+                                                 @Value("${bookingmx.persistence.dir}") String dir) throws IOException {
+        if ("wal".equalsIgnoreCase(mode)) return new WriteAheadLog(Path.of(dir));
+        return ReservationJournal.NONE;
+    }
+
+    @Bean
+    public ReservationArchive reservationArchive(@Value("${bookingmx.archive.enabled}") boolean enabled,
+                                                 @Value("${bookingmx.persistence.mode}") String mode,
+                                                 @Value("${bookingmx.persistence.dir}") String dir) throws IOException {
+        if (!enabled) return ReservationArchive.NONE;
+        if ("wal".equalsIgnoreCase(mode)) return MappedArchive.open(Path.of(dir, "archive"));
+        return MappedArchive.temporary();
+    }
+
+    @Bean
+    public ReservationStore reservationStore(@Value("${bookingmx.store.layout}") String layout) {
+        if ("columnar".equalsIgnoreCase(layout)) return new ColumnarReservationStore();
+        return new MapReservationStore();
+    }
+}
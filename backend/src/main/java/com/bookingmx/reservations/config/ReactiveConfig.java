@@ -0,0 +1,44 @@
+package com.bookingmx.reservations.config;
+
+import com.bookingmx.reservations.reactive.ReservationHandler;
+import com.bookingmx.reservations.reactive.ReservationRouter;
+import com.bookingmx.reservations.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Optional non-blocking API: the reservation routes served by Reactor Netty on {@code bookingmx.reactive.port},
+ * next to the servlet API, sharing the same service and repository. Enabled with {@code bookingmx.reactive.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookingmx.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveServer(ReservationService service, Validator validator, ObjectMapper objectMapper,
+                                           @Value("${bookingmx.reactive.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(c -> {
+                    // the servlet side's ObjectMapper, so dates and nulls serialize the same on both APIs
+                    c.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    c.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        var httpHandler = RouterFunctions.toHttpHandler(ReservationRouter.routes(new ReservationHandler(service, validator)), strategies);
+        return HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+    }
+}
@@ -0,0 +1,20 @@
+package com.bookingmx.reservations.config;
+
+import com.bookingmx.reservations.controller.WireFormat;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * Replaces Spring Boot's default CBOR converter with one using {@link WireFormat#cborMapper()}, so request and
+ * response bodies match what {@link com.bookingmx.reservations.controller.ResponseCache} stores. It keeps the
+ * default converter's place after JSON, which therefore still wins for {@code *}{@code /*} and missing headers.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(WireFormat.cborMapper());
+    }
+}
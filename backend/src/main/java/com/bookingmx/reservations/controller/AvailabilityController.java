@@ -0,0 +1,30 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.dto.VacancyResponse;
+import com.bookingmx.reservations.service.ReservationService;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173", "*"})
+@RequestMapping(value = "/api/availability", produces = MediaType.APPLICATION_JSON_VALUE)
+public class AvailabilityController {
+
+    private final ReservationService service;
+
+    public AvailabilityController(ReservationService service) {
+        this.service = service;
+    }
+
+    /** Hotels with at least {@code minRooms} rooms free on every night from {@code from} to {@code to} (exclusive). */
+    @GetMapping
+    public List<VacancyResponse> search(@RequestParam("from") LocalDate from,
+                                        @RequestParam("to") LocalDate to,
+                                        @RequestParam(value = "minRooms", defaultValue = "1") int minRooms) {
+        return service.findAvailable(from, to, minRooms).stream().map(VacancyResponse::from).toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.dto.NearbyCityResponse;
+import com.bookingmx.reservations.dto.NearbyHotelResponse;
+import com.bookingmx.reservations.service.CityService;
+import com.bookingmx.reservations.service.NearbyHotelService;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173", "*"})
+@RequestMapping(value = "/api/cities", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CityController {
+
+    private final CityService cities;
+    private final NearbyHotelService hotels;
+
+    public CityController(CityService cities, NearbyHotelService hotels) {
+        this.cities = cities;
+        this.hotels = hotels;
+    }
+
+    /** Cities reachable within {@code maxKm} of road, nearest first, with their shortest distance. */
+    @GetMapping("/{name}/nearby")
+    public List<NearbyCityResponse> nearby(@PathVariable("name") String name,
+                                           @RequestParam(value = "maxKm", defaultValue = "250") double maxKm) {
+        return cities.nearby(name, maxKm);
+    }
+
+    /** Hotels in the city and within {@code maxKm} of it, nearest first, with their load over {@code [from, to)}. */
+    @GetMapping("/{name}/hotels")
+    public List<NearbyHotelResponse> hotels(@PathVariable("name") String name,
+                                            @RequestParam(value = "maxKm", defaultValue = "250") double maxKm,
+                                            @RequestParam("from") LocalDate from,
+                                            @RequestParam("to") LocalDate to) {
+        return hotels.near(name, maxKm, from, to).stream().map(NearbyHotelResponse::from).toList();
+    }
+}
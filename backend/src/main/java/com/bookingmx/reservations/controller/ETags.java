@@ -0,0 +1,31 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.exception.PreconditionFailedException;
+import com.bookingmx.reservations.model.Reservation;
+
+/** Reservation versions as HTTP entity tags, shared by the servlet and reactive endpoints. */
+public final class ETags {
+
+    private ETags() { }
+
+    public static String of(Reservation r) {
+        return "\"" + r.getVersion() + "\"";
+    }
+
+    /**
+     * A single strong entity tag; {@code *} or no header means no version check. If-Match uses the strong
+     * comparison (RFC 9110 13.1.1), so a weak tag never matches. If-None-Match is left to Spring's
+     * {@code checkNotModified}, which compares weakly.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) throw new PreconditionFailedException("If-Match needs a strong entity tag");
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) tag = tag.substring(1, tag.length() - 1);
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any version of this reservation");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.dto.AvailabilityResponse;
+import com.bookingmx.reservations.dto.HotelRequest;
+import com.bookingmx.reservations.dto.HotelResponse;
+import com.bookingmx.reservations.service.HotelInventory;
+import com.bookingmx.reservations.service.NearbyHotelService;
+import com.bookingmx.reservations.service.ReservationService;
+
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173", "*"})
+@RequestMapping(value = "/api/hotels", produces = MediaType.APPLICATION_JSON_VALUE)
+public class HotelController {
+
+    private final HotelInventory inventory;
+    private final ReservationService service;
+    private final NearbyHotelService nearby;
+
+    public HotelController(HotelInventory inventory, ReservationService service, NearbyHotelService nearby) {
+        this.inventory = inventory;
+        this.service = service;
+        this.nearby = nearby;
+    }
+
+    @GetMapping
+    public List<HotelResponse> list() {
+        return inventory.list().stream().map(HotelResponse::from).toList();
+    }
+
+    /**
+     * Sets the hotel's room count and city; bookings that would exceed the rooms on any night are refused
+     * with 409.
+     */
+    @PutMapping("/{name}")
+    public HotelResponse register(@PathVariable("name") String name, @Valid @RequestBody HotelRequest req) {
+        return HotelResponse.from(nearby.register(name, req.getRooms(), req.getCity()));
+    }
+
+    @GetMapping("/{name}/availability")
+    public AvailabilityResponse availability(@PathVariable("name") String name,
+                                             @RequestParam("from") LocalDate from,
+                                             @RequestParam("to") LocalDate to) {
+        return AvailabilityResponse.from(service.availability(name, from, to));
+    }
+}
@@ -1,63 +1,191 @@
 package com.bookingmx.reservations.controller;
 
+import com.bookingmx.reservations.dto.BatchItemRequest;
+import com.bookingmx.reservations.dto.BatchItemResult;
+import com.bookingmx.reservations.dto.ReservationChanges;
 import com.bookingmx.reservations.dto.ReservationRequest;
 import com.bookingmx.reservations.dto.ReservationResponse;
 import com.bookingmx.reservations.exception.NotFoundException;
 import com.bookingmx.reservations.model.Reservation;
 import com.bookingmx.reservations.service.ReservationService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
-@CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173", "*"})
-@RequestMapping(value = "/api/reservations", produces = MediaType.APPLICATION_JSON_VALUE)
+@CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173", "*"}, exposedHeaders = {ReservationController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
+@RequestMapping(value = "/api/reservations", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 public class ReservationController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
 
     private final ReservationService service;
+    private final ObjectMapper objectMapper;
+    private final ResponseCache cache;
+    private final ReservationEventStream events;
 
-    public ReservationController(ReservationService service) {
+    public ReservationController(ReservationService service, ObjectMapper objectMapper, ResponseCache cache,
+                                 ReservationEventStream events) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+        this.events = events;
     }
 
+    /**
+     * Full list by default. With {@code after} and/or {@code limit} it returns one keyset page in id order,
+     * and {@value #NEXT_CURSOR_HEADER} carries the id to pass as {@code after} for the next page.
+     * Unpaged responses are served from {@link ResponseCache} in the {@link WireFormat} the client accepts.
+     * <p>
+     * The weak {@code ETag} and {@code Last-Modified} follow the repository's change sequence, so a client
+     * revalidating with {@code If-None-Match} gets 304 until some reservation changes. A cached list carries
+     * the sequence it was loaded at, since the cache only learns of a change after the write is durable.
+     */
     @GetMapping
-    public List<ReservationResponse> list() {
-        return service.list().stream()
-                .map(this::toResponse)
+    public ResponseEntity<?> list(@RequestParam(value = "hotel", required = false) String hotel,
+                                  @RequestParam(value = "guest", required = false) String guest,
+                                  @RequestParam(value = "after", required = false) Long after,
+                                  @RequestParam(value = "limit", required = false) Integer limit,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                  WebRequest request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
+        if (after == null && limit == null) {
+            WireFormat format = WireFormat.negotiate(accept);
+            ResponseCache.Entry listed = cache.list(hotel, guest, format,
+                    () -> new ResponseCache.Listing(service.changeSequence(), service.lastModified(), service.list(hotel, guest)));
+            if (request.checkNotModified(listed.getETag(), listed.getLastModified())) return null;
+            return response.contentType(format.mediaType()).body(listed.getBody());
+        }
+        // read before the data, so the body is never older than the tag it is sent with
+        String eTag = "W/\"" + service.changeSequence() + "\"";
+        if (request.checkNotModified(eTag, service.lastModified())) return null;
+        List<ReservationResponse> page = service.page(hotel, guest, after, limit).stream()
+                .map(ReservationResponse::from)
                 .toList();
+        int pageSize = limit == null ? ReservationService.DEFAULT_PAGE_SIZE : limit;
+        if (page.size() == pageSize) response.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+        return response.body(page);
     }
 
+    /**
+     * Streams reservations as newline-delimited JSON in id order, writing each one
+     * to the response as it is read instead of building the full list.
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public void export(@RequestParam(value = "hotel", required = false) String hotel,
+                       @RequestParam(value = "guest", required = false) String guest,
+                       @RequestParam(value = "after", required = false) Long after,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writerFor(ReservationResponse.class);
+        OutputStream out = response.getOutputStream();
+        Iterator<Reservation> it = service.stream(hotel, guest, after).iterator();
+        while (it.hasNext()) {
+            out.write(writer.writeValueAsBytes(ReservationResponse.from(it.next())));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Reservations created, updated or canceled after the {@code since} cursor, plus the cursor for the next
+     * poll. Without a usable cursor the response is the full set with {@code full: true}.
+     */
+    @GetMapping("/changes")
+    public ReservationChanges changes(@RequestParam(value = "since", required = false) Long since) {
+        return ReservationChanges.from(service.changes(since));
+    }
+
+    /**
+     * Server-sent events: a {@value ReservationEventStream#CHANGE_EVENT} event with the reservation for every
+     * create, update and cancel. A {@value ReservationEventStream#RESYNC_EVENT} event means changes were skipped
+     * and the client should refetch (e.g. through {@code /changes}).
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return events.subscribe(lastEventId);
+    }
+
+    @GetMapping("/overlaps")
+    public List<ReservationResponse> overlaps(@RequestParam("hotel") String hotel,
+                                              @RequestParam("from") LocalDate from,
+                                              @RequestParam("to") LocalDate to) {
+        return service.findOverlapping(hotel, from, to).stream()
+                .map(ReservationResponse::from)
+                .toList();
+    }
+
+    /** Guests arriving on {@code [from, to)}, by day; reads only the check-in months in the window. */
+    @GetMapping("/arrivals")
+    public List<ReservationResponse> arrivals(@RequestParam("from") LocalDate from, @RequestParam("to") LocalDate to) {
+        return service.arrivals(from, to).stream().map(ReservationResponse::from).toList();
+    }
+
+    /** Guests checking out on {@code [from, to)}, by day. */
+    @GetMapping("/departures")
+    public List<ReservationResponse> departures(@RequestParam("from") LocalDate from, @RequestParam("to") LocalDate to) {
+        return service.departures(from, to).stream().map(ReservationResponse::from).toList();
+    }
+
+    /** The {@code ETag} is the reservation's version; send it back as {@code If-Match} on PUT/DELETE. */
     @GetMapping("/{id}")
-    public ReservationResponse getById(@PathVariable("id") Long id) {
-        return service.getById(id)
-                .map(this::toResponse)
+    public ResponseEntity<byte[]> getById(@PathVariable("id") Long id,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        WireFormat format = WireFormat.negotiate(accept);
+        ResponseCache.Entry cached = cache.reservation(id, format, () -> service.getById(id))
                 .orElseThrow(() -> new NotFoundException("Reservation not found"));
+        return ResponseEntity.ok().eTag(cached.getETag()).varyBy(HttpHeaders.ACCEPT).contentType(format.mediaType()).body(cached.getBody());
     }
 
-    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @ResponseStatus(HttpStatus.CREATED)
     public ReservationResponse create(@Valid @RequestBody ReservationRequest req) {
-        return toResponse(service.create(req));
+        return ReservationResponse.from(service.create(req));
     }
 
-    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ReservationResponse update(@PathVariable("id") Long id, @Valid @RequestBody ReservationRequest req) {
-        return toResponse(service.update(id, req));
+    /**
+     * Mixed create/update/cancel items with per-item results; one failing item does not fail the batch.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public List<BatchItemResult> batch(@RequestBody List<BatchItemRequest> items) {
+        return service.applyBatch(items).stream()
+                .map(o -> {
+                    Reservation r = o.getReservation();
+                    return r == null
+                            ? new BatchItemResult(o.getIndex(), o.getStatus(), null, null, o.getError())
+                            : new BatchItemResult(o.getIndex(), o.getStatus(), r.getId(), ReservationResponse.from(r), null);
+                })
+                .toList();
     }
 
-    @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void cancel(@PathVariable("id") Long id) {
-        service.cancel(id);
+    @PutMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<ReservationResponse> update(@PathVariable("id") Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @Valid @RequestBody ReservationRequest req) {
+        Reservation r = service.update(id, req, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(r)).body(ReservationResponse.from(r));
     }
 
-    private ReservationResponse toResponse(Reservation r) {
-        return new ReservationResponse(
-                r.getId(), r.getGuestName(), r.getHotelName(), r.getCheckIn(), r.getCheckOut(), r.getStatus()
-        );
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable("id") Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Reservation r = service.cancel(id, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(ETags.of(r)).build();
     }
 }
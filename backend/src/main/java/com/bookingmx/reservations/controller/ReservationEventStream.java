@@ -0,0 +1,137 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.dto.ReservationResponse;
+import com.bookingmx.reservations.service.ChangeRing;
+import com.bookingmx.reservations.service.ReservationChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fans reservation changes out to server-sent-event subscribers through a {@link ChangeRing}.
+ * <p>
+ * The write path only publishes into the ring and unparks one notifier thread; the notifier wakes the
+ * subscribers, each of which reads the ring from its own cursor on its own virtual thread and writes to its
+ * client. A subscriber whose client is too slow to keep within the ring's capacity gets a {@code resync}
+ * event and skips to the newest change instead of holding anything back.
+ */
+@Component
+public class ReservationEventStream {
+    public static final String CHANGE_EVENT = "reservation";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final ChangeRing ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Thread notifier;
+    private volatile boolean closed;
+
+    public ReservationEventStream(@Value("${bookingmx.stream.buffer}") int buffer) {
+        this.ring = new ChangeRing(buffer);
+        this.notifier = Thread.ofPlatform().daemon().name("reservation-stream-notifier").start(this::notifyLoop);
+    }
+
+    @EventListener
+    public void onChange(ReservationChangedEvent event) {
+        ring.publish(event.getCurrent());
+        LockSupport.unpark(notifier);
+    }
+
+    /**
+     * Streams changes published from now on, or, if the client reconnects with the id of the last event it saw
+     * and that event is still in the ring, everything after it.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L);
+        long head = ring.head();
+        long cursor = head;
+        boolean resync = false;
+        if (lastEventId != null && lastEventId + 1 != head) {
+            // an id the ring still holds resumes after it; one it has lost, or never issued, needs a resync
+            if (lastEventId + 1 < head && lastEventId >= 0 && !ring.isOverrun(lastEventId + 1)) cursor = lastEventId + 1;
+            else resync = true;
+        }
+        Subscriber sub = new Subscriber(emitter, cursor, resync);
+        emitter.onCompletion(sub::stop);
+        emitter.onTimeout(sub::stop);
+        emitter.onError(e -> sub.stop());
+        sub.thread = Thread.ofVirtual().name("reservation-stream-subscriber").unstarted(sub::run);
+        subscribers.add(sub);
+        sub.thread.start();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        LockSupport.unpark(notifier);
+        for (Subscriber sub : subscribers) sub.emitter.complete();
+    }
+
+    private void notifyLoop() {
+        while (!closed) {
+            LockSupport.park(this);
+            for (Subscriber sub : subscribers) LockSupport.unpark(sub.thread);
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        Thread thread;
+        volatile boolean stopped;
+        long cursor;
+        boolean resync;
+
+        Subscriber(SseEmitter emitter, long cursor, boolean resync) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.resync = resync;
+        }
+
+        void run() {
+            try {
+                while (!stopped && !closed) {
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT).id(String.valueOf(cursor - 1)).data("{}", MediaType.APPLICATION_JSON));
+                        resync = false;
+                    }
+                    ChangeRing.Slot slot = ring.read(cursor);
+                    if (slot != null) {
+                        emitter.send(SseEmitter.event()
+                                .name(CHANGE_EVENT)
+                                .id(String.valueOf(slot.getSequence()))
+                                .data(ReservationResponse.from(slot.getReservation()), MediaType.APPLICATION_JSON));
+                        cursor++;
+                    } else if (ring.isOverrun(cursor)) {
+                        cursor = ring.head();
+                        resync = true;
+                    } else {
+                        // the notifier unparks us after every publish, so a change landing after the check is not missed
+                        LockSupport.park(this);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client went away; the emitter callbacks or the finally block clean up
+            } finally {
+                stop();
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            subscribers.remove(this);
+            if (thread != Thread.currentThread()) LockSupport.unpark(thread);
+        }
+    }
+}
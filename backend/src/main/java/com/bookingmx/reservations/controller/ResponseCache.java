@@ -0,0 +1,179 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.dto.ReservationResponse;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.service.ReservationChangedEvent;
+import com.bookingmx.reservations.service.ReservationsArchivedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Serialized bodies for single reservations and unpaged (optionally filtered) lists, one entry per
+ * {@link WireFormat}, bounded by {@code bookingmx.cache.max-entries} and {@code bookingmx.cache.ttl}.
+ * <p>
+ * Entries are loaded atomically per key and dropped on {@link ReservationChangedEvent}: the reservation
+ * itself plus every list it appears in before or after the change. An invalidation that races a load waits
+ * for that load and then removes it, so a read that started before a write cannot outlive it.
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Encoded body plus the ETag to send with it: the version for a reservation, the weak change sequence
+     * for a list. {@code lastModified} is {@code -1} for reservations.
+     */
+    public static final class Entry {
+        private final byte[] body;
+        private final String eTag;
+        private final long lastModified;
+
+        Entry(byte[] body, String eTag, long lastModified) {
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+
+        public byte[] getBody() { return body; }
+        public String getETag() { return eTag; }
+        public long getLastModified() { return lastModified; }
+    }
+
+    /**
+     * A list as loaded, with the change sequence and time read <em>before</em> it. The cached entry is
+     * tagged with those, so its tag can lag its body but never run ahead of it.
+     */
+    public static final class Listing {
+        private final long sequence;
+        private final long lastModified;
+        private final List<Reservation> reservations;
+
+        public Listing(long sequence, long lastModified, List<Reservation> reservations) {
+            this.sequence = sequence;
+            this.lastModified = lastModified;
+            this.reservations = reservations;
+        }
+    }
+
+    private final Cache<String, Entry> cache;
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+    private final long maxEntries;
+
+    public ResponseCache(ObjectMapper objectMapper,
+                         @Value("${bookingmx.cache.max-entries}") long maxEntries,
+                         @Value("${bookingmx.cache.ttl}") Duration ttl) {
+        mappers.put(WireFormat.JSON, objectMapper);
+        mappers.put(WireFormat.CBOR, WireFormat.cborMapper());
+        this.maxEntries = maxEntries;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /** Empty when the reservation does not exist; misses are not cached. */
+    public Optional<Entry> reservation(Long id, Supplier<Optional<Reservation>> loader) {
+        return reservation(id, WireFormat.JSON, loader);
+    }
+
+    public Optional<Entry> reservation(Long id, WireFormat format, Supplier<Optional<Reservation>> loader) {
+        return Optional.ofNullable(cache.get(reservationKey(format, id), key -> loader.get()
+                .map(r -> new Entry(encode(format, ReservationResponse.from(r)), ETags.of(r), -1))
+                .orElse(null)));
+    }
+
+    public Entry list(String hotel, String guest, Supplier<Listing> loader) {
+        return list(hotel, guest, WireFormat.JSON, loader);
+    }
+
+    public Entry list(String hotel, String guest, WireFormat format, Supplier<Listing> loader) {
+        return cache.get(listKey(format, hotel, guest), key -> {
+            Listing listing = loader.get();
+            byte[] body = encode(format, listing.reservations.stream().map(ReservationResponse::from).toList());
+            return new Entry(body, "W/\"" + listing.sequence + "\"", listing.lastModified);
+        });
+    }
+
+    @EventListener
+    public void onChange(ReservationChangedEvent event) {
+        Reservation current = event.getCurrent();
+        for (WireFormat format : WireFormat.values()) cache.invalidate(reservationKey(format, current.getId()));
+        invalidateLists(current);
+        Reservation previous = event.getPrevious();
+        if (previous != null
+                && !(same(previous.getHotelName(), current.getHotelName()) && same(previous.getGuestName(), current.getGuestName()))) {
+            invalidateLists(previous);
+        }
+    }
+
+    /** Archived reservations read the same by id, but leave every list they were in. */
+    @EventListener
+    public void onArchived(ReservationsArchivedEvent event) {
+        event.getArchived().forEach(this::invalidateLists);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats s = cache.stats();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.estimatedSize());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", s.hitCount());
+        stats.put("misses", s.missCount());
+        stats.put("evictions", s.evictionCount());
+        stats.put("hitRate", s.hitRate());
+        return stats;
+    }
+
+    private void invalidateLists(Reservation r) {
+        for (WireFormat format : WireFormat.values()) {
+            cache.invalidate(listKey(format, null, null));
+            cache.invalidate(listKey(format, r.getHotelName(), null));
+            cache.invalidate(listKey(format, null, r.getGuestName()));
+            cache.invalidate(listKey(format, r.getHotelName(), r.getGuestName()));
+        }
+    }
+
+    private byte[] encode(WireFormat format, Object value) {
+        try {
+            return mappers.get(format).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String reservationKey(WireFormat format, Long id) {
+        return format.ordinal() + ":id:" + id;
+    }
+
+    /** Hotel and guest are length-prefixed so no pair of names can produce another pair's key. */
+    private static String listKey(WireFormat format, String hotel, String guest) {
+        return format.ordinal() + ":list:" + part(hotel) + part(guest);
+    }
+
+    private static String part(String s) {
+        return s == null ? "-;" : s.length() + ":" + s + ";";
+    }
+
+    private static boolean same(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
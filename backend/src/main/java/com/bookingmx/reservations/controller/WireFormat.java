@@ -0,0 +1,92 @@
+package com.bookingmx.reservations.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Body encodings of the reservation API. JSON is the default; a client that prefers {@code application/cbor}
+ * in {@code Accept} (or sends it as {@code Content-Type}) gets the compact form, where dates are epoch-day
+ * integers and enums such as the reservation status are ordinals, so new constants must only be appended.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * The format the {@code Accept} header ranks higher; each type takes the quality of its most specific
+     * matching range, and ties (including no header and {@code *}{@code /*}) go to JSON.
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) return JSON;
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        return quality(accepted, CBOR.mediaType) > quality(accepted, JSON.mediaType) ? CBOR : JSON;
+    }
+
+    private static double quality(List<MediaType> accepted, MediaType type) {
+        int bestRank = -1;
+        double quality = 0;
+        for (MediaType range : accepted) {
+            if (!range.includes(type)) continue;
+            int rank = range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+            if (rank > bestRank || (rank == bestRank && range.getQualityValue() > quality)) {
+                bestRank = rank;
+                quality = range.getQualityValue();
+            }
+        }
+        return quality;
+    }
+
+    /** The CBOR side of the API; unknown properties are ignored, as with Spring Boot's JSON mapper. */
+    public static ObjectMapper cborMapper() {
+        SimpleModule epochDays = new SimpleModule("EpochDayDates")
+                .addSerializer(LocalDate.class, new EpochDaySerializer())
+                .addDeserializer(LocalDate.class, new EpochDayDeserializer());
+        return CBORMapper.builder()
+                .addModule(epochDays)
+                .enable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    private static final class EpochDaySerializer extends JsonSerializer<LocalDate> {
+        @Override
+        public void serialize(LocalDate value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toEpochDay());
+        }
+    }
+
+    private static final class EpochDayDeserializer extends JsonDeserializer<LocalDate> {
+        @Override
+        public LocalDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (LocalDate) ctxt.handleUnexpectedToken(LocalDate.class, p);
+            }
+            return LocalDate.ofEpochDay(p.getLongValue());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookingmx.reservations.dto;
+
+import com.bookingmx.reservations.service.Availability;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AvailabilityResponse {
+    private String hotelName;
+    private Integer rooms;
+    private List<Night> nights;
+
+    public AvailabilityResponse(String hotelName, Integer rooms, List<Night> nights) {
+        this.hotelName = hotelName; this.rooms = rooms; this.nights = nights;
+    }
+
+    public static AvailabilityResponse from(Availability availability) {
+        Integer rooms = availability.getRooms();
+        int[] booked = availability.getBooked();
+        List<Night> nights = new ArrayList<>(booked.length);
+        for (int n = 0; n < booked.length; n++) {
+            nights.add(new Night(availability.getFrom().plusDays(n), booked[n], rooms == null ? null : Math.max(0, rooms - booked[n])));
+        }
+        return new AvailabilityResponse(availability.getHotelName(), rooms, nights);
+    }
+
+    public String getHotelName() { return hotelName; }
+    public Integer getRooms() { return rooms; }
+    public List<Night> getNights() { return nights; }
+
+    /** {@code free} is null for hotels without a room count. */
+    public static class Night {
+        private LocalDate date;
+        private int booked;
+        private Integer free;
+
+        public Night(LocalDate date, int booked, Integer free) {
+            this.date = date; this.booked = booked; this.free = free;
+        }
+
+        public LocalDate getDate() { return date; }
+        public int getBooked() { return booked; }
+        public Integer getFree() { return free; }
+    }
+}
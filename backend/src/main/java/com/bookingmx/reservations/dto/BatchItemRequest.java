@@ -0,0 +1,18 @@
+package com.bookingmx.reservations.dto;
+
+/**
+ * One entry of a batch: a plain reservation request is a CREATE, while UPDATE and CANCEL also carry the target id.
+ */
+public class BatchItemRequest extends ReservationRequest {
+
+    public enum Op { CREATE, UPDATE, CANCEL }
+
+    private Op op = Op.CREATE;
+    private Long id;
+
+    public Op getOp() { return op; }
+    public void setOp(Op op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+}
@@ -0,0 +1,20 @@
+package com.bookingmx.reservations.dto;
+
+public class BatchItemResult {
+    private int index;
+    private int status;
+    private Long id;
+    private ReservationResponse reservation;
+    private String error;
+
+    public BatchItemResult(int index, int status, Long id, ReservationResponse reservation, String error) {
+        this.index = index; this.status = status; this.id = id;
+        this.reservation = reservation; this.error = error;
+    }
+
+    public int getIndex() { return index; }
+    public int getStatus() { return status; }
+    public Long getId() { return id; }
+    public ReservationResponse getReservation() { return reservation; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,18 @@
+package com.bookingmx.reservations.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class HotelRequest {
+
+    @NotNull(message = "Rooms is required")
+    @Min(value = 0, message = "Rooms cannot be negative")
+    private Integer rooms;
+
+    private String city; // optional: a city of the road network
+
+    public Integer getRooms() { return rooms; }
+    public void setRooms(Integer rooms) { this.rooms = rooms; }
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+}
@@ -0,0 +1,21 @@
+package com.bookingmx.reservations.dto;
+
+import com.bookingmx.reservations.model.Hotel;
+
+public class HotelResponse {
+    private String name;
+    private int rooms;
+    private String city;
+
+    public HotelResponse(String name, int rooms, String city) {
+        this.name = name; this.rooms = rooms; this.city = city;
+    }
+
+    public static HotelResponse from(Hotel hotel) {
+        return new HotelResponse(hotel.getName(), hotel.getRooms(), hotel.getCity());
+    }
+
+    public String getName() { return name; }
+    public int getRooms() { return rooms; }
+    public String getCity() { return city; }
+}
@@ -0,0 +1,13 @@
+package com.bookingmx.reservations.dto;
+
+public class NearbyCityResponse {
+    private String city;
+    private double distance;
+
+    public NearbyCityResponse(String city, double distance) {
+        this.city = city; this.distance = distance;
+    }
+
+    public String getCity() { return city; }
+    public double getDistance() { return distance; }
+}
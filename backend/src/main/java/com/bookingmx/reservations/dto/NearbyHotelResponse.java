@@ -0,0 +1,29 @@
+package com.bookingmx.reservations.dto;
+
+import com.bookingmx.reservations.service.NearbyHotel;
+
+public class NearbyHotelResponse {
+    private String hotelName;
+    private String city;
+    private double distance;
+    private int rooms;
+    private int booked;
+    private int free;
+
+    public NearbyHotelResponse(String hotelName, String city, double distance, int rooms, int booked, int free) {
+        this.hotelName = hotelName; this.city = city; this.distance = distance;
+        this.rooms = rooms; this.booked = booked; this.free = free;
+    }
+
+    public static NearbyHotelResponse from(NearbyHotel hotel) {
+        return new NearbyHotelResponse(hotel.getHotel().getName(), hotel.getHotel().getCity(), hotel.getDistance(),
+                hotel.getHotel().getRooms(), hotel.getBooked(), hotel.getFree());
+    }
+
+    public String getHotelName() { return hotelName; }
+    public String getCity() { return city; }
+    public double getDistance() { return distance; }
+    public int getRooms() { return rooms; }
+    public int getBooked() { return booked; }
+    public int getFree() { return free; }
+}
@@ -0,0 +1,24 @@
+package com.bookingmx.reservations.dto;
+
+import com.bookingmx.reservations.service.ChangeFeed;
+
+import java.util.List;
+
+public class ReservationChanges {
+    private long sequence;
+    private boolean full;
+    private List<ReservationResponse> reservations;
+
+    public ReservationChanges(long sequence, boolean full, List<ReservationResponse> reservations) {
+        this.sequence = sequence; this.full = full; this.reservations = reservations;
+    }
+
+    public static ReservationChanges from(ChangeFeed feed) {
+        return new ReservationChanges(feed.getSequence(), feed.isFull(),
+                feed.getReservations().stream().map(ReservationResponse::from).toList());
+    }
+
+    public long getSequence() { return sequence; }
+    public boolean isFull() { return full; }
+    public List<ReservationResponse> getReservations() { return reservations; }
+}
@@ -1,5 +1,6 @@
 package com.bookingmx.reservations.dto;
 
+import com.bookingmx.reservations.model.Reservation;
 import com.bookingmx.reservations.model.ReservationStatus;
 import java.time.LocalDate;
 
@@ -10,10 +11,17 @@ public class ReservationResponse {
     private LocalDate checkIn;
     private LocalDate checkOut;
     private ReservationStatus status;
+    private long version;
 
-    public ReservationResponse(Long id, String guestName, String hotelName, LocalDate checkIn, LocalDate checkOut, ReservationStatus status) {
+    public ReservationResponse(Long id, String guestName, String hotelName, LocalDate checkIn, LocalDate checkOut, ReservationStatus status, long version) {
         this.id = id; this.guestName = guestName; this.hotelName = hotelName;
-        this.checkIn = checkIn; this.checkOut = checkOut; this.status = status;
+        this.checkIn = checkIn; this.checkOut = checkOut; this.status = status; this.version = version;
+    }
+
+    public static ReservationResponse from(Reservation r) {
+        return new ReservationResponse(
+                r.getId(), r.getGuestName(), r.getHotelName(), r.getCheckIn(), r.getCheckOut(), r.getStatus(), r.getVersion()
+        );
     }
 
     public Long getId() { return id; }
@@ -22,4 +30,5 @@ public class ReservationResponse {
     public LocalDate getCheckIn() { return checkIn; }
     public LocalDate getCheckOut() { return checkOut; }
     public ReservationStatus getStatus() { return status; }
+    public long getVersion() { return version; }
 }
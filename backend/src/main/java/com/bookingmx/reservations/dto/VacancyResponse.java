@@ -0,0 +1,21 @@
+package com.bookingmx.reservations.dto;
+
+import com.bookingmx.reservations.service.Vacancy;
+
+public class VacancyResponse {
+    private String hotelName;
+    private int rooms;
+    private int free;
+
+    public VacancyResponse(String hotelName, int rooms, int free) {
+        this.hotelName = hotelName; this.rooms = rooms; this.free = free;
+    }
+
+    public static VacancyResponse from(Vacancy vacancy) {
+        return new VacancyResponse(vacancy.getHotel().getName(), vacancy.getHotel().getRooms(), vacancy.getFree());
+    }
+
+    public String getHotelName() { return hotelName; }
+    public int getRooms() { return rooms; }
+    public int getFree() { return free; }
+}
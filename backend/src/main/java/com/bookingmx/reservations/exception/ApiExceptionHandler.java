@@ -1,5 +1,7 @@
 package com.bookingmx.reservations.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,6 +14,10 @@ import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    // 4xx floods format the timestamp once per second, not once per response
+    private volatile Stamp stamp = new Stamp(0L);
 
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<?> badRequest(BadRequestException ex) {
@@ -25,6 +31,18 @@ public class ApiExceptionHandler {
                 .body(errorBody(ex.getMessage(), 404));
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<?> conflict(ConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(errorBody(ex.getMessage(), 409));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<?> preconditionFailed(PreconditionFailedException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(errorBody(ex.getMessage(), 412));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> validationError(MethodArgumentNotValidException ex) {
         var errors = ex.getBindingResult().getFieldErrors().stream()
@@ -36,7 +54,7 @@ public class ApiExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Map.of(
-                        "timestamp", Instant.now().toString(),
+                        "timestamp", timestamp(),
                         "status", 400,
                         "message", "Validation failed",
                         "errors", errors
@@ -49,21 +67,35 @@ public class ApiExceptionHandler {
         error.put("message", e.getMessage() != null ? e.getMessage() : "Unexpected error");
         error.put("type", e.getClass().getSimpleName());
         error.put("status", 500);
-        error.put("timestamp", java.time.Instant.now());
+        error.put("timestamp", timestamp());
 
-        // Print full stack trace for debugging
-        System.err.println("=== UNHANDLED EXCEPTION ===");
-        e.printStackTrace();
-        System.err.println("=========================");
+        log.error("Unhandled exception", e);
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
     private Map<String, Object> errorBody(String message, int status) {
         return Map.of(
-                "timestamp", Instant.now().toString(),
+                "timestamp", timestamp(),
                 "status", status,
                 "message", message
         );
     }
+
+    private String timestamp() {
+        long second = System.currentTimeMillis() / 1000;
+        Stamp s = stamp;
+        if (s.second != second) stamp = s = new Stamp(second);
+        return s.text;
+    }
+
+    private static final class Stamp {
+        final long second;
+        final String text;
+
+        Stamp(long second) {
+            this.second = second;
+            this.text = Instant.ofEpochSecond(second).toString();
+        }
+    }
 }
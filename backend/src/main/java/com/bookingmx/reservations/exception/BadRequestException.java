@@ -5,5 +5,6 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends RuntimeException {
-    public BadRequestException(String m) { super(m); }
+    // client errors (this and the other 4xx exceptions) skip the stack trace: nothing useful to fill in or print
+    public BadRequestException(String m) { super(m, null, false, false); }
 }
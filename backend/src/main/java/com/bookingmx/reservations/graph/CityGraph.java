@@ -0,0 +1,217 @@
+package com.bookingmx.reservations.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Undirected road network in compressed sparse row form: the roads of city {@code c} are
+ * {@code targets[offsets[c] .. offsets[c + 1])} with lengths in {@code km}. Cities are ints from here on;
+ * names are only resolved at the edges. Immutable once built, so searches need no locking.
+ */
+public final class CityGraph {
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] km;
+    // search scratch space sized to the graph, reused across searches instead of allocated per call
+    private final Queue<Workspace> workspaces = new ConcurrentLinkedQueue<>();
+
+    private CityGraph(String[] names, Map<String, Integer> ids, int[] offsets, int[] targets, double[] km) {
+        this.names = names;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.km = km;
+    }
+
+    /** Same rules as the frontend's {@code validateGraphData}: unique non-blank names, known endpoints, finite non-negative distances. */
+    public static CityGraph build(List<String> cities, List<RoadNetwork.Road> roads) {
+        String[] names = cities.toArray(String[]::new);
+        Map<String, Integer> ids = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null || names[i].isBlank()) throw new IllegalArgumentException("Invalid city entry");
+            if (ids.putIfAbsent(names[i], i) != null) throw new IllegalArgumentException("Duplicate city: " + names[i]);
+        }
+        int[] from = new int[roads.size()];
+        int[] to = new int[roads.size()];
+        int[] offsets = new int[names.length + 1];
+        for (int e = 0; e < roads.size(); e++) {
+            RoadNetwork.Road road = roads.get(e);
+            Integer a = ids.get(road.getFrom());
+            Integer b = ids.get(road.getTo());
+            if (a == null || b == null) throw new IllegalArgumentException("Road references unknown city: " + road.getFrom() + " - " + road.getTo());
+            if (!Double.isFinite(road.getDistance()) || road.getDistance() < 0) throw new IllegalArgumentException("Invalid distance: " + road.getDistance());
+            from[e] = a;
+            to[e] = b;
+            offsets[a + 1]++;
+            offsets[b + 1]++;
+        }
+        for (int c = 0; c < names.length; c++) offsets[c + 1] += offsets[c];
+        int[] next = Arrays.copyOf(offsets, names.length);
+        int[] targets = new int[offsets[names.length]];
+        double[] km = new double[targets.length];
+        for (int e = 0; e < roads.size(); e++) {
+            double d = roads.get(e).getDistance();
+            targets[next[from[e]]] = to[e];
+            km[next[from[e]]++] = d;
+            targets[next[to[e]]] = from[e];
+            km[next[to[e]]++] = d;
+        }
+        return new CityGraph(names, ids, offsets, targets, km);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /** The city's id, or -1 if the graph does not know it. */
+    public int id(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Shortest road distance from {@code source} to every other city within {@code maxKm}, nearest first.
+     * Dijkstra that stops at the radius, so the cost depends on the cities reached, not on the graph size.
+     */
+    public Reach nearby(int source, double maxKm) {
+        Workspace w = workspaces.poll();
+        if (w == null) w = new Workspace(names.length);
+        try {
+            return w.search(source, maxKm);
+        } finally {
+            workspaces.offer(w);
+        }
+    }
+
+    /** Cities reached by one search, in increasing distance; {@code cities[i]} is {@code km[i]} away. */
+    public static final class Reach {
+        private final int[] cities;
+        private final double[] km;
+
+        Reach(int[] cities, double[] km) {
+            this.cities = cities;
+            this.km = km;
+        }
+
+        public int size() { return cities.length; }
+        public int city(int i) { return cities[i]; }
+        public double km(int i) { return km[i]; }
+
+        /** How many of the reached cities are within {@code maxKm}. */
+        public int within(double maxKm) {
+            int lo = 0, hi = km.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (km[mid] <= maxKm) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Per-search state. {@code seen[c] == stamp} marks {@code dist[c]} as valid for the current search, so
+     * starting a new one is a counter bump rather than clearing arrays the size of the graph.
+     */
+    private final class Workspace {
+        final double[] dist;
+        final int[] seen;
+        final int[] settled;
+        int stamp;
+        // binary min-heap of (key, city) with lazy deletion: a city may sit in it several times
+        double[] keys = new double[64];
+        int[] cities = new int[64];
+        int heapSize;
+
+        Workspace(int size) {
+            dist = new double[size];
+            seen = new int[size];
+            settled = new int[size];
+        }
+
+        Reach search(int source, double maxKm) {
+            if (++stamp == 0) { // wrapped: old marks could look current
+                Arrays.fill(seen, 0);
+                Arrays.fill(settled, 0);
+                stamp = 1;
+            }
+            heapSize = 0;
+            int[] order = new int[16];
+            double[] orderKm = new double[16];
+            int reached = 0;
+            dist[source] = 0;
+            seen[source] = stamp;
+            push(0, source);
+            while (heapSize > 0) {
+                double d = keys[0];
+                int c = cities[0];
+                pop();
+                if (settled[c] == stamp) continue;
+                settled[c] = stamp;
+                if (c != source) {
+                    if (reached == order.length) {
+                        order = Arrays.copyOf(order, reached * 2);
+                        orderKm = Arrays.copyOf(orderKm, reached * 2);
+                    }
+                    order[reached] = c;
+                    orderKm[reached++] = d;
+                }
+                for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                    int t = targets[e];
+                    double nd = d + km[e];
+                    if (nd > maxKm || settled[t] == stamp) continue;
+                    if (seen[t] != stamp || nd < dist[t]) {
+                        seen[t] = stamp;
+                        dist[t] = nd;
+                        push(nd, t);
+                    }
+                }
+            }
+            return new Reach(Arrays.copyOf(order, reached), Arrays.copyOf(orderKm, reached));
+        }
+
+        private void push(double key, int city) {
+            if (heapSize == keys.length) {
+                keys = Arrays.copyOf(keys, heapSize * 2);
+                cities = Arrays.copyOf(cities, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                keys[i] = keys[parent];
+                cities[i] = cities[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            cities[i] = city;
+        }
+
+        private void pop() {
+            double key = keys[--heapSize];
+            int city = cities[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && keys[child + 1] < keys[child]) child++;
+                if (keys[child] >= key) break;
+                keys[i] = keys[child];
+                cities[i] = cities[child];
+                i = child;
+            }
+            keys[i] = key;
+            cities[i] = city;
+        }
+    }
+}
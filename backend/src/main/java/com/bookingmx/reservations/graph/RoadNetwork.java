@@ -0,0 +1,37 @@
+package com.bookingmx.reservations.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** The {@code {cities, edges}} JSON dataset the frontend's graph module uses, as loaded from disk. */
+public class RoadNetwork {
+    private List<String> cities = new ArrayList<>();
+    private List<Road> edges = new ArrayList<>();
+
+    public List<String> getCities() { return cities; }
+    public void setCities(List<String> cities) { this.cities = cities; }
+
+    public List<Road> getEdges() { return edges; }
+    public void setEdges(List<Road> edges) { this.edges = edges; }
+
+    public static class Road {
+        private String from;
+        private String to;
+        private double distance;
+
+        public Road() { }
+
+        public Road(String from, String to, double distance) {
+            this.from = from; this.to = to; this.distance = distance;
+        }
+
+        public String getFrom() { return from; }
+        public void setFrom(String from) { this.from = from; }
+
+        public String getTo() { return to; }
+        public void setTo(String to) { this.to = to; }
+
+        public double getDistance() { return distance; }
+        public void setDistance(double distance) { this.distance = distance; }
+    }
+}
@@ -0,0 +1,42 @@
+package com.bookingmx.reservations.metrics;
+
+import com.bookingmx.reservations.controller.ReservationEventStream;
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.service.NameInterner;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of Spring Boot's: {@code @Timed} support (used by the service layer) and gauges
+ * over the repository and the in-memory helpers. HTTP endpoints are timed by Boot as {@code http.server.requests}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder reservationGauges(ReservationRepository repo, NameInterner names, ReservationEventStream stream) {
+        return registry -> {
+            Gauge.builder("bookingmx.reservations", repo, ReservationRepository::count)
+                    .description("Reservations in the store")
+                    .register(registry);
+            for (ReservationStatus status : ReservationStatus.values()) {
+                Gauge.builder("bookingmx.reservations.status", repo, r -> r.countByStatus(status))
+                        .tag("status", status.name().toLowerCase())
+                        .description("Reservations in the store by status")
+                        .register(registry);
+            }
+            Gauge.builder("bookingmx.names.entries", names, NameInterner::size).register(registry);
+            Gauge.builder("bookingmx.stream.subscribers", stream, ReservationEventStream::subscriberCount).register(registry);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookingmx.reservations.metrics;
+
+import com.bookingmx.reservations.service.NameInterner;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/** Size of the hotel/guest name dictionary and the heap it has saved so far (estimated), at {@code /actuator/names}. */
+@Component
+@Endpoint(id = "names")
+public class NameDictionaryEndpoint {
+
+    private final NameInterner interner;
+
+    public NameDictionaryEndpoint(NameInterner interner) {
+        this.interner = interner;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return interner.stats();
+    }
+}
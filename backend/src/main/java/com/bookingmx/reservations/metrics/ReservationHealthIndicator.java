@@ -0,0 +1,67 @@
+package com.bookingmx.reservations.metrics;
+
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store size and service latency under {@code /actuator/health}. Latency is judged on the slowest service
+ * method's p99 over the recent window; above {@code bookingmx.health.latency-threshold} it is reported as
+ * {@code SLOW}, but the application stays {@code UP} since slow is not unavailable. A failed journal is
+ * {@code DOWN}: the repository refuses writes until a restart.
+ */
+@Component("reservations")
+public class ReservationHealthIndicator implements HealthIndicator {
+
+    private final ReservationRepository repo;
+    private final MeterRegistry registry;
+    private final Duration latencyThreshold;
+
+    public ReservationHealthIndicator(ReservationRepository repo, MeterRegistry registry,
+                                      @Value("${bookingmx.health.latency-threshold}") Duration latencyThreshold) {
+        this.repo = repo;
+        this.registry = registry;
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> store = new LinkedHashMap<>();
+        store.put("reservations", repo.count());
+        for (ReservationStatus status : ReservationStatus.values()) store.put(status.name().toLowerCase(), repo.countByStatus(status));
+
+        double p99 = 0;
+        String slowest = null;
+        for (Timer timer : registry.find("bookingmx.service").timers()) {
+            for (ValueAtPercentile v : timer.takeSnapshot().percentileValues()) {
+                if (v.percentile() == 0.99 && v.value(TimeUnit.MILLISECONDS) > p99) {
+                    p99 = v.value(TimeUnit.MILLISECONDS);
+                    slowest = timer.getId().getTag("method");
+                }
+            }
+        }
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("status", p99 > latencyThreshold.toMillis() ? "SLOW" : "OK");
+        latency.put("p99Ms", p99);
+        latency.put("thresholdMs", latencyThreshold.toMillis());
+        if (slowest != null) latency.put("slowestMethod", slowest);
+
+        boolean journalHealthy = repo.isJournalHealthy();
+        return (journalHealthy ? Health.up() : Health.down())
+                .withDetail("store", store)
+                .withDetail("journal", journalHealthy ? "OK" : "FAILED")
+                .withDetail("latency", latency)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookingmx.reservations.metrics;
+
+import com.bookingmx.reservations.controller.ResponseCache;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/** Entries, hits, misses and evictions of the reservation response cache, at {@code /actuator/response-cache}. */
+@Component
+@Endpoint(id = "responsecache")
+public class ResponseCacheEndpoint {
+
+    private final ResponseCache cache;
+
+    public ResponseCacheEndpoint(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
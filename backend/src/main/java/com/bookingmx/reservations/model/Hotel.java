@@ -0,0 +1,26 @@
+package com.bookingmx.reservations.model;
+
+/**
+ * A hotel whose rooms are counted: no night may hold more ACTIVE reservations than {@code rooms}.
+ * Hotels that were never registered take any number of reservations. {@code city} places the hotel on
+ * the road network for destination searches; null for hotels that were never placed.
+ */
+public final class Hotel {
+    private final String name;
+    private final int rooms;
+    private final String city;
+
+    public Hotel(String name, int rooms) {
+        this(name, rooms, null);
+    }
+
+    public Hotel(String name, int rooms, String city) {
+        this.name = name;
+        this.rooms = rooms;
+        this.city = city;
+    }
+
+    public String getName() { return name; }
+    public int getRooms() { return rooms; }
+    public String getCity() { return city; }
+}
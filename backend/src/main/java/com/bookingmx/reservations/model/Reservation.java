@@ -3,34 +3,53 @@ package com.bookingmx.reservations.model;
 import java.time.LocalDate;
 import java.util.Objects;
 
-public class Reservation {
-    private Long id;
-    private String guestName;
-    private String hotelName;
-    private LocalDate checkIn;
-    private LocalDate checkOut;
-    private ReservationStatus status = ReservationStatus.ACTIVE;
+/**
+ * Immutable snapshot of a reservation. Every change produces a new instance, and the repository
+ * bumps {@code version} each time it stores one, so a stale copy can be detected on write.
+ */
+public final class Reservation {
+    private final Long id;
+    private final String guestName;
+    private final String hotelName;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    private final ReservationStatus status;
+    private final long version;
 
     public Reservation(Long id, String guestName, String hotelName, LocalDate checkIn, LocalDate checkOut) {
+        this(id, guestName, hotelName, checkIn, checkOut, ReservationStatus.ACTIVE, 0L);
+    }
+
+    public Reservation(Long id, String guestName, String hotelName, LocalDate checkIn, LocalDate checkOut,
+                       ReservationStatus status, long version) {
         this.id = id;
         this.guestName = guestName;
         this.hotelName = hotelName;
         this.checkIn = checkIn;
         this.checkOut = checkOut;
+        this.status = status;
+        this.version = version;
     }
 
     public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
     public String getGuestName() { return guestName; }
-    public void setGuestName(String guestName) { this.guestName = guestName; }
     public String getHotelName() { return hotelName; }
-    public void setHotelName(String hotelName) { this.hotelName = hotelName; }
     public LocalDate getCheckIn() { return checkIn; }
-    public void setCheckIn(LocalDate checkIn) { this.checkIn = checkIn; }
     public LocalDate getCheckOut() { return checkOut; }
-    public void setCheckOut(LocalDate checkOut) { this.checkOut = checkOut; }
     public ReservationStatus getStatus() { return status; }
-    public void setStatus(ReservationStatus status) { this.status = status; }
+    public long getVersion() { return version; }
+
+    public Reservation withId(Long id) {
+        return new Reservation(id, guestName, hotelName, checkIn, checkOut, status, version);
+    }
+
+    public Reservation withStatus(ReservationStatus status) {
+        return new Reservation(id, guestName, hotelName, checkIn, checkOut, status, version);
+    }
+
+    public Reservation withVersion(long version) {
+        return new Reservation(id, guestName, hotelName, checkIn, checkOut, status, version);
+    }
 
     public boolean isActive() { return this.status == ReservationStatus.ACTIVE; }
 
@@ -0,0 +1,187 @@
+package com.bookingmx.reservations.reactive;
+
+import com.bookingmx.reservations.controller.ETags;
+import com.bookingmx.reservations.controller.ReservationController;
+import com.bookingmx.reservations.dto.ReservationChanges;
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.dto.ReservationResponse;
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.exception.NotFoundException;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.service.ReservationService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking counterparts of {@link ReservationController}'s endpoints over the same {@link ReservationService}.
+ * Reads are served on the event loop since they only touch memory; writes may wait on the journal's fsync
+ * and run on the bounded-elastic scheduler instead.
+ * <p>
+ * Lists and single reservations carry the servlet side's entity tags and revalidate with {@code If-None-Match};
+ * PUT and DELETE honour {@code If-Match}. Bodies are JSON only; CBOR, batches, the event stream, arrivals and
+ * departures are served by the servlet API alone.
+ */
+public class ReservationHandler {
+    private static final MediaType NDJSON = MediaType.parseMediaType(ReservationController.NDJSON_VALUE);
+
+    private final ReservationService service;
+    private final Validator validator;
+
+    public ReservationHandler(ReservationService service, Validator validator) {
+        this.service = service;
+        this.validator = validator;
+    }
+
+    /**
+     * The full list is written as a JSON array while it is read from the repository, in id order, instead
+     * of being built first; a page is bounded by its limit and is built so the next cursor can be sent.
+     * Both carry the list's weak {@code ETag} and {@code Last-Modified}, and revalidate to 304.
+     */
+    public Mono<ServerResponse> list(ServerRequest req) {
+        String hotel = req.queryParam("hotel").orElse(null);
+        String guest = req.queryParam("guest").orElse(null);
+        Long after = longParam(req, "after");
+        Integer limit = req.queryParam("limit").map(v -> (int) parseLong("limit", v)).orElse(null);
+        // read before the data, so the body is never older than the tag it is sent with
+        String eTag = "W/\"" + service.changeSequence() + "\"";
+        Instant lastModified = Instant.ofEpochMilli(service.lastModified());
+        return req.checkNotModified(lastModified, eTag).switchIfEmpty(Mono.defer(() -> {
+            ServerResponse.BodyBuilder response = ServerResponse.ok().eTag(eTag).lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache()).contentType(MediaType.APPLICATION_JSON);
+            if (after == null && limit == null) {
+                Flux<ReservationResponse> body = Flux.fromStream(() -> service.stream(hotel, guest, null))
+                        .map(ReservationResponse::from);
+                return response.body(body, ReservationResponse.class);
+            }
+            List<ReservationResponse> page = service.page(hotel, guest, after, limit).stream().map(ReservationResponse::from).toList();
+            int pageSize = limit == null ? ReservationService.DEFAULT_PAGE_SIZE : limit;
+            if (page.size() == pageSize) response.header(ReservationController.NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+            return response.bodyValue(page);
+        }));
+    }
+
+    /**
+     * Newline-delimited JSON in id order. Reservations are pulled from the repository only as fast as
+     * the client reads them, so a slow consumer holds a cursor, not a buffered copy of the list.
+     */
+    public Mono<ServerResponse> export(ServerRequest req) {
+        String hotel = req.queryParam("hotel").orElse(null);
+        String guest = req.queryParam("guest").orElse(null);
+        Long after = longParam(req, "after");
+        Flux<ReservationResponse> body = Flux.fromStream(() -> service.stream(hotel, guest, after))
+                .map(ReservationResponse::from);
+        return ServerResponse.ok().contentType(NDJSON).body(body, ReservationResponse.class);
+    }
+
+    public Mono<ServerResponse> changes(ServerRequest req) {
+        return ServerResponse.ok().bodyValue(ReservationChanges.from(service.changes(longParam(req, "since"))));
+    }
+
+    public Mono<ServerResponse> overlaps(ServerRequest req) {
+        String hotel = req.queryParam("hotel").orElseThrow(() -> new BadRequestException("Missing parameter 'hotel'"));
+        LocalDate from = dateParam(req, "from");
+        LocalDate to = dateParam(req, "to");
+        return ServerResponse.ok().bodyValue(service.findOverlapping(hotel, from, to).stream().map(ReservationResponse::from).toList());
+    }
+
+    public Mono<ServerResponse> getById(ServerRequest req) {
+        Reservation r = service.getById(id(req)).orElseThrow(() -> new NotFoundException("Reservation not found"));
+        String eTag = ETags.of(r);
+        return req.checkNotModified(eTag)
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().eTag(eTag).bodyValue(ReservationResponse.from(r))));
+    }
+
+    public Mono<ServerResponse> create(ServerRequest req) {
+        return validBody(req)
+                .flatMap(body -> blocking(() -> service.create(body)))
+                .flatMap(r -> ServerResponse.created(URI.create("/api/reservations/" + r.getId()))
+                        .bodyValue(ReservationResponse.from(r)));
+    }
+
+    public Mono<ServerResponse> update(ServerRequest req) {
+        Long id = id(req);
+        Long expectedVersion = ETags.expectedVersion(req.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return validBody(req)
+                .flatMap(body -> blocking(() -> service.update(id, body, expectedVersion)))
+                .flatMap(r -> ServerResponse.ok().eTag(ETags.of(r)).bodyValue(ReservationResponse.from(r)));
+    }
+
+    public Mono<ServerResponse> cancel(ServerRequest req) {
+        Long id = id(req);
+        Long expectedVersion = ETags.expectedVersion(req.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return blocking(() -> service.cancel(id, expectedVersion))
+                .flatMap(r -> ServerResponse.noContent().eTag(ETags.of(r)).build());
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /** Same checks and 400 body as {@code @Valid} on the servlet side. */
+    private Mono<ReservationRequest> validBody(ServerRequest req) {
+        return req.bodyToMono(ReservationRequest.class)
+                .switchIfEmpty(Mono.error(new BadRequestException("Request body is required")))
+                .flatMap(body -> {
+                    Set<ConstraintViolation<ReservationRequest>> violations = validator.validate(body);
+                    if (violations.isEmpty()) return Mono.just(body);
+                    Map<String, String> errors = new TreeMap<>();
+                    for (ConstraintViolation<ReservationRequest> v : violations) {
+                        errors.putIfAbsent(v.getPropertyPath().toString(), v.getMessage());
+                    }
+                    return Mono.error(new ValidationFailedException(errors));
+                });
+    }
+
+    private static Long id(ServerRequest req) {
+        return parseLong("id", req.pathVariable("id"));
+    }
+
+    private static Long longParam(ServerRequest req, String name) {
+        return req.queryParam(name).map(v -> parseLong(name, v)).orElse(null);
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid value for '" + name + "'");
+        }
+    }
+
+    private static LocalDate dateParam(ServerRequest req, String name) {
+        String value = req.queryParam(name).orElseThrow(() -> new BadRequestException("Missing parameter '" + name + "'"));
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid value for '" + name + "'");
+        }
+    }
+
+    /** Bean-validation failures, reported field by field like the servlet handler does. */
+    static final class ValidationFailedException extends RuntimeException {
+        final Map<String, String> errors;
+
+        ValidationFailedException(Map<String, String> errors) {
+            super("Validation failed");
+            this.errors = errors;
+        }
+    }
+}
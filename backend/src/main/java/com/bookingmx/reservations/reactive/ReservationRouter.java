@@ -0,0 +1,70 @@
+package com.bookingmx.reservations.reactive;
+
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.exception.ConflictException;
+import com.bookingmx.reservations.exception.NotFoundException;
+import com.bookingmx.reservations.exception.PreconditionFailedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/** Functional routes for the reactive API, mirroring the servlet paths and error bodies. */
+public final class ReservationRouter {
+
+    private ReservationRouter() { }
+
+    public static RouterFunction<ServerResponse> routes(ReservationHandler handler) {
+        return route()
+                .path("/api/reservations", b -> b
+                        .GET("", handler::list)
+                        .GET("/export", handler::export)
+                        .GET("/changes", handler::changes)
+                        .GET("/overlaps", handler::overlaps)
+                        .GET("/{id}", handler::getById)
+                        .POST("", contentType(MediaType.APPLICATION_JSON), handler::create)
+                        .PUT("/{id}", contentType(MediaType.APPLICATION_JSON), handler::update)
+                        .DELETE("/{id}", handler::cancel))
+                .filter((request, next) -> Mono.defer(() -> next.handle(request)).onErrorResume(ReservationRouter::isMapped, ReservationRouter::toError))
+                .build();
+    }
+
+    private static boolean isMapped(Throwable e) {
+        return status(e) != null;
+    }
+
+    private static Mono<ServerResponse> toError(Throwable e) {
+        HttpStatusCode status = status(e);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", status.value());
+        if (e instanceof ReservationHandler.ValidationFailedException v) {
+            body.put("message", "Validation failed");
+            body.put("errors", v.errors);
+        } else if (e instanceof ResponseStatusException r) {
+            body.put("message", r.getReason() != null ? r.getReason() : status.toString());
+        } else {
+            body.put("message", e.getMessage());
+        }
+        return ServerResponse.status(status).bodyValue(body);
+    }
+
+    private static HttpStatusCode status(Throwable e) {
+        if (e instanceof BadRequestException || e instanceof ReservationHandler.ValidationFailedException) return HttpStatus.BAD_REQUEST;
+        if (e instanceof NotFoundException) return HttpStatus.NOT_FOUND;
+        if (e instanceof ConflictException) return HttpStatus.CONFLICT;
+        if (e instanceof PreconditionFailedException) return HttpStatus.PRECONDITION_FAILED;
+        if (e instanceof ResponseStatusException r) return r.getStatusCode();
+        return null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-hotel interval trees over {@code [checkIn, checkOut)} of ACTIVE reservations, with the nightly
+ * room counts they add up to.
+ */
+class AvailabilityIndex {
+    private final Map<String, IntervalTree> byHotel = new ConcurrentHashMap<>();
+    private final Map<String, Occupancy> occupancy = new ConcurrentHashMap<>();
+
+    void add(Reservation r) {
+        if (!r.isActive()) return;
+        IntervalTree tree = byHotel.computeIfAbsent(r.getHotelName(), k -> new IntervalTree());
+        synchronized (tree) {
+            tree.insert((int) r.getCheckIn().toEpochDay(), (int) r.getCheckOut().toEpochDay(), r.getId());
+        }
+        occupancy.computeIfAbsent(r.getHotelName(), k -> new Occupancy())
+                .add((int) r.getCheckIn().toEpochDay(), (int) r.getCheckOut().toEpochDay(), 1);
+    }
+
+    void remove(Reservation r) {
+        if (!r.isActive()) return;
+        IntervalTree tree = byHotel.get(r.getHotelName());
+        if (tree == null) return;
+        synchronized (tree) {
+            tree.remove((int) r.getCheckIn().toEpochDay(), r.getId());
+        }
+        occupancy.get(r.getHotelName()).add((int) r.getCheckIn().toEpochDay(), (int) r.getCheckOut().toEpochDay(), -1);
+    }
+
+    List<Long> overlapping(String hotelName, LocalDate from, LocalDate to) {
+        IntervalTree tree = byHotel.get(hotelName);
+        if (tree == null) return List.of();
+        List<Long> ids = new ArrayList<>();
+        synchronized (tree) {
+            tree.overlapping((int) from.toEpochDay(), (int) to.toEpochDay(), ids::add);
+        }
+        return ids;
+    }
+
+    int[] booked(String hotelName, LocalDate from, LocalDate to) {
+        Occupancy nights = occupancy.get(hotelName);
+        int days = (int) (to.toEpochDay() - from.toEpochDay());
+        return nights == null ? new int[days] : nights.booked((int) from.toEpochDay(), (int) to.toEpochDay());
+    }
+
+    int peak(String hotelName, LocalDate from, LocalDate to) {
+        Occupancy nights = occupancy.get(hotelName);
+        return nights == null ? 0 : nights.peak((int) from.toEpochDay(), (int) to.toEpochDay());
+    }
+
+    void clear() {
+        byHotel.clear();
+        occupancy.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package com.bookingmx.reservations.repo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Monotonic change sequence over reservation ids, without locks so writers to different hotels never wait on
+ * each other here. A writer {@link #claim claims} the next number inside the entry's compute and
+ * {@link #publish publishes} it into a ring of the last {@code MAX_TRACKED} changes once the compute has
+ * returned; {@link #sequence()} only moves past a number when it and every number below it are published, so
+ * everything up to it is visible in the store. Cursors the ring has moved past get a full resync.
+ * <p>
+ * The high bits of every sequence number are an epoch drawn at random when the log is created, so a cursor
+ * handed out before a restart lies outside this run's block, below {@link #resetAt()} or above
+ * {@link #sequence()}, and is answered with a full resync rather than a wrong delta, whatever the clock did
+ * in between. Two runs share an epoch once in about two million restarts; cursors stay below 2^53 so
+ * JavaScript clients read them exactly.
+ */
+final class ChangeLog {
+    static final int MAX_TRACKED = 1 << 20;
+    static final int EPOCH_BITS = 21;
+    // 2^32 changes per run before the sequence runs into the next epoch's block
+    static final int COUNTER_BITS = 32;
+
+    private final AtomicReferenceArray<Change> ring = new AtomicReferenceArray<>(MAX_TRACKED);
+    private final AtomicLong claimed;
+    private final AtomicLong published;
+    private final AtomicLong resetAt;
+    private volatile long lastModified = System.currentTimeMillis();
+
+    ChangeLog() {
+        this(ThreadLocalRandom.current().nextLong(1, 1L << EPOCH_BITS));
+    }
+
+    ChangeLog(long epoch) {
+        long start = epoch << COUNTER_BITS;
+        claimed = new AtomicLong(start);
+        published = new AtomicLong(start);
+        resetAt = new AtomicLong(start);
+    }
+
+    /** The sequence number of the next change; must be {@link #publish published}, or later changes never show. */
+    long claim() {
+        return claimed.incrementAndGet();
+    }
+
+    void publish(long sequence, Long id) {
+        // never over a later lap: a writer stalled that long must not hide a newer change
+        ring.accumulateAndGet(slot(sequence), new Change(sequence, id), (old, c) -> old == null || old.sequence < c.sequence ? c : old);
+        long now = System.currentTimeMillis();
+        if (lastModified != now) lastModified = now;
+        advance();
+    }
+
+    /** Forgets per-id history; cursors at or before this point can only be answered with a full resync. */
+    void reset() {
+        long s = claim();
+        resetAt.accumulateAndGet(s, Math::max); // raised before the sequence can reach it
+        publish(s, null);
+    }
+
+    long sequence() {
+        return published.get();
+    }
+
+    /** Cursors below this can only be answered with a full resync. */
+    long resetAt() {
+        return Math.max(resetAt.get(), published.get() - MAX_TRACKED);
+    }
+
+    long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Ids whose latest change falls in {@code (since, upTo]}, oldest first; empty if writers overwrote part of
+     * that range while it was read.
+     */
+    Optional<List<Long>> changedBetween(long since, long upTo) {
+        List<Long> newestFirst = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (long s = upTo; s > since; s--) {
+            Change c = ring.get(slot(s));
+            if (c == null || c.sequence != s) return Optional.empty();
+            if (c.id != null && seen.add(c.id)) newestFirst.add(c.id);
+        }
+        Collections.reverse(newestFirst);
+        return Optional.of(newestFirst);
+    }
+
+    /**
+     * Moves the published sequence over every consecutive published slot. Each writer tries after filling its
+     * own slot, so whichever fills a gap last also carries the sequence past the slots filled behind it.
+     */
+    private void advance() {
+        while (true) {
+            long p = published.get();
+            Change c = ring.get(slot(p + 1));
+            if (c == null || c.sequence <= p) return; // not published yet
+            published.compareAndSet(p, p + 1); // a later lap in the slot means the ring passed a stalled writer
+        }
+    }
+
+    private static int slot(long sequence) {
+        return (int) (sequence & (MAX_TRACKED - 1));
+    }
+
+    private record Change(long sequence, Long id) { }
+}
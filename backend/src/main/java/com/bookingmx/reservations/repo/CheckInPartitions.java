@@ -0,0 +1,184 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Reservation ids partitioned by check-in month. Within a partition ids are ordered by
+ * {@code (check-in day, id)}, packed into one long as {@code day << 40 | id}, so a date window reads one
+ * contiguous run in each month it touches and never looks at the others.
+ * <p>
+ * A month that is over is {@link #seal sealed}: its ids are copied into a sorted array, binary-searched and
+ * no longer written. Removing from a sealed month only records the key, which readers still see until
+ * {@link #compact} rewrites the array, so they must check that the reservation still checks in on the key's
+ * day. Adding to a sealed month (a replayed or late write) reopens it.
+ */
+final class CheckInPartitions {
+    private static final int ID_BITS = 40;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+
+    private final ConcurrentSkipListMap<Integer, Partition> byMonth = new ConcurrentSkipListMap<>();
+
+    void add(Reservation r) {
+        int day = (int) r.getCheckIn().toEpochDay();
+        byMonth.computeIfAbsent(month(day), m -> new Partition())
+                .add(key(day, r.getId()), (int) (r.getCheckOut().toEpochDay() - day));
+    }
+
+    void remove(Reservation r) {
+        int day = (int) r.getCheckIn().toEpochDay();
+        Partition p = byMonth.get(month(day));
+        if (p != null) p.remove(key(day, r.getId()));
+    }
+
+    /** Ids checking in on {@code [from, to)}, by day then id. */
+    void checkingIn(int from, int to, DayIdConsumer sink) {
+        if (from >= to) return;
+        for (Partition p : byMonth.subMap(month(from), true, month(to - 1), true).values()) {
+            p.range(key(from, 0), key(to, 0), sink);
+        }
+    }
+
+    /**
+     * Ids that may check out on {@code [from, to)}: everything checking in before {@code to} and no more than
+     * the partition's longest stay before {@code from}. Months whose stays all end before {@code from} are skipped.
+     */
+    void checkingOut(int from, int to, DayIdConsumer sink) {
+        for (Map.Entry<Integer, Partition> e : byMonth.headMap(month(to - 1), true).entrySet()) {
+            Partition p = e.getValue();
+            int earliest = from - p.maxNights.get();
+            if (earliest >= firstDay(e.getKey() + 1)) continue;
+            p.range(key(Math.max(earliest, firstDay(e.getKey())), 0), key(to, 0), sink);
+        }
+    }
+
+    /**
+     * Seals every open month before {@code month} (an epoch month, see {@link #month}). Must be called while
+     * no writes are in flight, so none is lost between copying a month and switching it over.
+     */
+    int seal(int month) {
+        int sealed = 0;
+        for (Partition p : byMonth.headMap(month, false).values()) if (p.seal()) sealed++;
+        return sealed;
+    }
+
+    /**
+     * Drops the keys removed from sealed months, and the months left empty. Same rule as {@link #seal}: no
+     * writes may be in flight, or an add racing a dropped month would be lost. Returns the keys dropped.
+     */
+    int compact() {
+        int dropped = 0;
+        for (Iterator<Partition> it = byMonth.values().iterator(); it.hasNext(); ) {
+            Partition p = it.next();
+            dropped += p.compact();
+            if (p.isEmpty()) it.remove();
+        }
+        return dropped;
+    }
+
+    int partitions() {
+        return byMonth.size();
+    }
+
+    void clear() {
+        byMonth.clear();
+    }
+
+    /** Months since January 1970, so they sort and subtract like the epoch days they come from. */
+    static int month(int epochDay) {
+        LocalDate d = LocalDate.ofEpochDay(epochDay);
+        return (d.getYear() - 1970) * 12 + d.getMonthValue() - 1;
+    }
+
+    private static int firstDay(int month) {
+        return (int) LocalDate.of(1970 + Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1, 1).toEpochDay();
+    }
+
+    // ids stay far below 2^40, and day * 2^40 keeps days in order even before 1970
+    private static long key(int day, long id) {
+        return ((long) day << ID_BITS) | id;
+    }
+
+    @FunctionalInterface
+    interface DayIdConsumer {
+        void accept(int day, long id);
+    }
+
+    private static final class Partition {
+        private volatile NavigableSet<Long> open = new ConcurrentSkipListSet<>(); // null once sealed
+        private volatile long[] sealed; // set while sealed
+        private final Set<Long> removed = ConcurrentHashMap.newKeySet(); // still in sealed until compacted
+        final AtomicInteger maxNights = new AtomicInteger();
+
+        void add(long key, int nights) {
+            maxNights.accumulateAndGet(nights, Math::max);
+            NavigableSet<Long> set = open;
+            (set != null ? set : reopen()).add(key);
+        }
+
+        void remove(long key) {
+            NavigableSet<Long> set = open;
+            if (set != null) set.remove(key);
+            else removeSealed(key);
+        }
+
+        void range(long from, long to, DayIdConsumer sink) {
+            NavigableSet<Long> set = open;
+            long[] keys = set == null ? sealed : null;
+            if (set == null && keys == null) set = open; // reopened between the two reads
+            if (set != null) {
+                for (long key : set.subSet(from, true, to, false)) sink.accept((int) (key >> ID_BITS), key & ID_MASK);
+                return;
+            }
+            int i = Arrays.binarySearch(keys, from);
+            for (i = i < 0 ? -i - 1 : i; i < keys.length && keys[i] < to; i++) sink.accept((int) (keys[i] >> ID_BITS), keys[i] & ID_MASK);
+        }
+
+        synchronized boolean seal() {
+            NavigableSet<Long> set = open;
+            if (set == null) return false;
+            sealed = set.stream().mapToLong(Long::longValue).toArray();
+            open = null;
+            return true;
+        }
+
+        synchronized int compact() {
+            if (open != null || removed.isEmpty()) return 0;
+            long[] keys = Arrays.stream(sealed).filter(k -> !removed.contains(k)).toArray();
+            int dropped = sealed.length - keys.length;
+            sealed = keys;
+            removed.clear();
+            return dropped;
+        }
+
+        synchronized boolean isEmpty() {
+            return open != null ? open.isEmpty() : sealed.length == 0;
+        }
+
+        private synchronized void removeSealed(long key) {
+            if (open != null) open.remove(key); // reopened since the caller looked
+            else removed.add(key);
+        }
+
+        private synchronized NavigableSet<Long> reopen() {
+            if (open != null) return open;
+            NavigableSet<Long> set = new ConcurrentSkipListSet<>();
+            for (long key : sealed) if (!removed.contains(key)) set.add(key);
+            removed.clear();
+            open = set; // published before the array goes, so a reader always finds one of them
+            sealed = null;
+            return set;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+
+/**
+ * Reservations kept as parallel primitive columns instead of objects: long ids, epoch-day ints,
+ * a status byte, a long version and dictionary codes for hotel and guest names, located through a primitive
+ * id -> row index. A {@link Reservation} is only materialized when one is read.
+ * <p>
+ * Ids are spread over lock stripes, each with its own columns and index, so writes to different ids
+ * rarely wait on each other; the name dictionaries are shared. Rows are dense within a stripe; removing
+ * one moves the stripe's last row into its place. Dictionary entries are kept until {@link #clear()}.
+ */
+public class ColumnarReservationStore implements ReservationStore {
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte NO_STATUS = -1;
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+    private static final int STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+    private static final int INITIAL_ROWS = 64;
+
+    private final NameDictionary hotels = new NameDictionary();
+    private final NameDictionary guests = new NameDictionary();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public ColumnarReservationStore() {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+    }
+
+    @Override
+    public Reservation get(Long id) {
+        Stripe stripe = stripe(id);
+        stripe.lock.readLock().lock();
+        try {
+            int row = stripe.rowById.get(id);
+            return row < 0 ? null : stripe.materialize(row);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Reservation compute(Long id, BiFunction<Long, Reservation, Reservation> remapping) {
+        Stripe stripe = stripe(id);
+        stripe.lock.writeLock().lock();
+        try {
+            int row = stripe.rowById.get(id);
+            Reservation next = remapping.apply(id, row < 0 ? null : stripe.materialize(row));
+            if (next == null) {
+                if (row >= 0) stripe.removeRow(row);
+            } else {
+                if (row < 0) {
+                    row = stripe.appendRow();
+                    stripe.rowById.put(id, row);
+                }
+                stripe.writeRow(row, id, next);
+            }
+            return next;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /** Each stripe is copied under its own read lock, so like {@code ConcurrentHashMap} this is weakly consistent. */
+    @Override
+    public List<Reservation> values() {
+        List<Reservation> all = new ArrayList<>(size());
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                for (int row = 0; row < stripe.rows; row++) all.add(stripe.materialize(row));
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return all;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                size += stripe.rows;
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe stripe : stripes) stripe.lock.writeLock().lock();
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.rowById.clear();
+                stripe.rows = 0;
+            }
+            hotels.clear();
+            guests.clear();
+        } finally {
+            for (Stripe stripe : stripes) stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private Stripe stripe(long id) {
+        int h = Long.hashCode(id);
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private final class Stripe {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final LongIntMap rowById = new LongIntMap();
+
+        long[] ids = new long[INITIAL_ROWS];
+        int[] checkIns = new int[INITIAL_ROWS];
+        int[] checkOuts = new int[INITIAL_ROWS];
+        int[] hotelCodes = new int[INITIAL_ROWS];
+        int[] guestCodes = new int[INITIAL_ROWS];
+        byte[] statuses = new byte[INITIAL_ROWS];
+        long[] versions = new long[INITIAL_ROWS];
+        int rows;
+
+        Reservation materialize(int row) {
+            return new Reservation(ids[row],
+                    guests.decode(guestCodes[row]),
+                    hotels.decode(hotelCodes[row]),
+                    toDate(checkIns[row]),
+                    toDate(checkOuts[row]),
+                    statuses[row] == NO_STATUS ? null : STATUSES[statuses[row]],
+                    versions[row]);
+        }
+
+        void writeRow(int row, long id, Reservation r) {
+            ids[row] = id;
+            checkIns[row] = toEpochDay(r.getCheckIn());
+            checkOuts[row] = toEpochDay(r.getCheckOut());
+            hotelCodes[row] = hotels.encode(r.getHotelName());
+            guestCodes[row] = guests.encode(r.getGuestName());
+            statuses[row] = r.getStatus() == null ? NO_STATUS : (byte) r.getStatus().ordinal();
+            versions[row] = r.getVersion();
+        }
+
+        int appendRow() {
+            if (rows == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                checkIns = Arrays.copyOf(checkIns, capacity);
+                checkOuts = Arrays.copyOf(checkOuts, capacity);
+                hotelCodes = Arrays.copyOf(hotelCodes, capacity);
+                guestCodes = Arrays.copyOf(guestCodes, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+            }
+            return rows++;
+        }
+
+        void removeRow(int row) {
+            rowById.remove(ids[row]);
+            int last = --rows;
+            if (row == last) return;
+            ids[row] = ids[last];
+            checkIns[row] = checkIns[last];
+            checkOuts[row] = checkOuts[last];
+            hotelCodes[row] = hotelCodes[last];
+            guestCodes[row] = guestCodes[last];
+            statuses[row] = statuses[last];
+            versions[row] = versions[last];
+            rowById.put(ids[row], row);
+        }
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
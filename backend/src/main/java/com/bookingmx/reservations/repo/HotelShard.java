@@ -0,0 +1,46 @@
+package com.bookingmx.reservations.repo;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One partition of the repository: the hotels whose names hash to it, with their id and availability
+ * indexes, the lock that makes check-then-write on those hotels atomic, and a block of ids to hand out.
+ */
+final class HotelShard {
+    static final int ID_BLOCK = 256;
+
+    final int index;
+    final ReentrantLock lock = new ReentrantLock();
+    final Map<String, NavigableSet<Long>> byHotel = new ConcurrentHashMap<>();
+    final AvailabilityIndex availability = new AvailabilityIndex();
+    private long nextId; // guarded by this
+    private long blockEnd; // guarded by this
+
+    HotelShard(int index) {
+        this.index = index;
+    }
+
+    /** Next id from this shard's block, taking a fresh block of {@link #ID_BLOCK} from {@code blocks} when it runs out. */
+    synchronized long nextId(AtomicLong blocks) {
+        if (nextId == blockEnd) {
+            nextId = blocks.getAndAdd(ID_BLOCK);
+            blockEnd = nextId + ID_BLOCK;
+        }
+        return nextId++;
+    }
+
+    /** Drops the current block so the next id comes from {@code blocks}, e.g. after the store was cleared. */
+    synchronized void resetIds() {
+        nextId = blockEnd = 0;
+    }
+
+    void clear() {
+        byHotel.clear();
+        availability.clear();
+        resetIds();
+    }
+}
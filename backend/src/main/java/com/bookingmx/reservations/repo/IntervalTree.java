@@ -0,0 +1,134 @@
+package com.bookingmx.reservations.repo;
+
+import java.util.function.LongConsumer;
+
+/**
+ * AVL tree of half-open day intervals {@code [start, end)} keyed by (start, id),
+ * augmented with the max end of each subtree so overlap queries can skip whole branches.
+ * Not thread-safe; callers guard it.
+ */
+class IntervalTree {
+
+    private static final class Node {
+        final int start;
+        final int end;
+        final long id;
+        int maxEnd;
+        int height = 1;
+        Node left, right;
+
+        Node(int start, int end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() { return size; }
+
+    void insert(int start, int end, long id) {
+        root = insert(root, start, end, id);
+    }
+
+    boolean remove(int start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /** Reports the id of every interval overlapping {@code [from, to)}. */
+    void overlapping(int from, int to, LongConsumer sink) {
+        overlapping(root, from, to, sink);
+    }
+
+    private void overlapping(Node n, int from, int to, LongConsumer sink) {
+        if (n == null || n.maxEnd <= from) return;
+        overlapping(n.left, from, to, sink);
+        if (n.start >= to) return; // everything to the right starts even later
+        if (n.end > from) sink.accept(n.id);
+        overlapping(n.right, from, to, sink);
+    }
+
+    private Node insert(Node n, int start, int end, long id) {
+        if (n == null) {
+            size++;
+            return new Node(start, end, id);
+        }
+        int c = compare(start, id, n);
+        if (c < 0) n.left = insert(n.left, start, end, id);
+        else if (c > 0) n.right = insert(n.right, start, end, id);
+        else return n;
+        return balance(n);
+    }
+
+    private Node remove(Node n, int start, long id) {
+        if (n == null) return null;
+        int c = compare(start, id, n);
+        if (c < 0) n.left = remove(n.left, start, id);
+        else if (c > 0) n.right = remove(n.right, start, id);
+        else {
+            size--;
+            if (n.left == null) return n.right;
+            if (n.right == null) return n.left;
+            Node min = n.right;
+            while (min.left != null) min = min.left;
+            Node replacement = new Node(min.start, min.end, min.id);
+            size++; // the recursive removal below decrements again
+            replacement.right = remove(n.right, min.start, min.id);
+            replacement.left = n.left;
+            return balance(replacement);
+        }
+        return balance(n);
+    }
+
+    private static int compare(int start, long id, Node n) {
+        int c = Integer.compare(start, n.start);
+        return c != 0 ? c : Long.compare(id, n.id);
+    }
+
+    private static int height(Node n) { return n == null ? 0 : n.height; }
+
+    private static void update(Node n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        int max = n.end;
+        if (n.left != null && n.left.maxEnd > max) max = n.left.maxEnd;
+        if (n.right != null && n.right.maxEnd > max) max = n.right.maxEnd;
+        n.maxEnd = max;
+    }
+
+    private static Node balance(Node n) {
+        update(n);
+        int bf = height(n.left) - height(n.right);
+        if (bf > 1) {
+            if (height(n.left.left) < height(n.left.right)) n.left = rotateLeft(n.left);
+            return rotateRight(n);
+        }
+        if (bf < -1) {
+            if (height(n.right.right) < height(n.right.left)) n.right = rotateRight(n.right);
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+}
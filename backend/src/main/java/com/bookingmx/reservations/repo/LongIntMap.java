@@ -0,0 +1,97 @@
+package com.bookingmx.reservations.repo;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing {@code long -> int} hash map without boxing. Values must be non-negative;
+ * {@link #get} returns -1 for a missing key. Not thread-safe.
+ */
+final class LongIntMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values; // value + 1, so 0 marks an empty slot
+    private int size;
+
+    LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i] - 1;
+        }
+        return -1;
+    }
+
+    void put(long key, int value) {
+        if ((size + 1) * 4L > keys.length * 3L) grow();
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != 0) {
+            if (keys[i] == key) {
+                values[i] = value + 1;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value + 1;
+        size++;
+    }
+
+    /** Removes the key, shifting later entries of its probe run back so lookups need no tombstones. */
+    void remove(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+        if (values[i] == 0) return;
+        size--;
+        for (int j = (i + 1) & mask; values[j] != 0; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            // move j into the hole at i unless its home lies cyclically in (i, j]
+            if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        values[i] = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == 0) continue;
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != 0) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/** Reservation objects in a {@link ConcurrentHashMap}; the default store. */
+public class MapReservationStore implements ReservationStore {
+    private final Map<Long, Reservation> store = new ConcurrentHashMap<>();
+
+    @Override
+    public Reservation get(Long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public Reservation compute(Long id, BiFunction<Long, Reservation, Reservation> remapping) {
+        return store.compute(id, remapping);
+    }
+
+    @Override
+    public List<Reservation> values() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package com.bookingmx.reservations.repo;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns each distinct name a dense int code; -1 encodes {@code null}. Lookups of known names and
+ * decodes take no lock; only assigning a new code does. A code may be decoded by any thread that
+ * obtained it through {@link #encode} or from data written after it.
+ */
+final class NameDictionary {
+    static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[16];
+    private int size;
+
+    int encode(String name) {
+        if (name == null) return NULL;
+        Integer code = codes.get(name);
+        return code != null ? code : add(name);
+    }
+
+    private synchronized int add(String name) {
+        Integer code = codes.get(name);
+        if (code != null) return code;
+        String[] current = names;
+        if (size == current.length) current = Arrays.copyOf(current, size + (size >> 1));
+        current[size] = name;
+        names = current;
+        codes.put(name, size);
+        return size++;
+    }
+
+    String decode(int code) {
+        return code == NULL ? null : names[code];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized void clear() {
+        codes.clear();
+        names = new String[16];
+        size = 0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bookingmx.reservations.repo;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Booked rooms per night for one hotel: an int counter per epoch day, in pages of {@code PAGE_DAYS} nights
+ * created as stays arrive, so memory follows the nights booked rather than the span from the earliest to the
+ * latest. Each page is a max segment tree over its nights, so the busiest night of any range is found in
+ * O(log days) per page it touches.
+ */
+final class Occupancy {
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_DAYS = 1 << PAGE_BITS;
+
+    // page number (epoch day >> PAGE_BITS) -> tree; tree[1] is the root, leaves are tree[PAGE_DAYS .. 2 * PAGE_DAYS)
+    private final NavigableMap<Integer, int[]> pages = new TreeMap<>();
+
+    synchronized void add(int from, int to, int delta) {
+        for (int day = from; day < to; ) {
+            int page = day >> PAGE_BITS;
+            int first = page << PAGE_BITS;
+            int end = (int) Math.min(to, (long) first + PAGE_DAYS);
+            int[] tree = pages.computeIfAbsent(page, p -> new int[2 * PAGE_DAYS]);
+            int lo = day - first + PAGE_DAYS;
+            int hi = end - first + PAGE_DAYS - 1;
+            for (int i = lo; i <= hi; i++) tree[i] += delta;
+            for (lo >>= 1, hi >>= 1; lo >= 1; lo >>= 1, hi >>= 1) {
+                for (int i = lo; i <= hi; i++) tree[i] = Math.max(tree[2 * i], tree[2 * i + 1]);
+            }
+            day = end;
+        }
+    }
+
+    /** Booked rooms for each night of {@code [from, to)}; nights never booked count as 0. */
+    synchronized int[] booked(int from, int to) {
+        int[] result = new int[to - from];
+        if (from >= to) return result;
+        for (Map.Entry<Integer, int[]> e : touched(from, to).entrySet()) {
+            int first = e.getKey() << PAGE_BITS;
+            int start = Math.max(from, first);
+            int end = (int) Math.min(to, (long) first + PAGE_DAYS);
+            System.arraycopy(e.getValue(), start - first + PAGE_DAYS, result, start - from, end - start);
+        }
+        return result;
+    }
+
+    /** Most rooms booked on any night of {@code [from, to)}. */
+    synchronized int peak(int from, int to) {
+        int max = 0;
+        if (from >= to) return max;
+        for (Map.Entry<Integer, int[]> e : touched(from, to).entrySet()) {
+            int first = e.getKey() << PAGE_BITS;
+            int[] tree = e.getValue();
+            int lo = Math.max(from, first) - first + PAGE_DAYS;
+            int hi = (int) Math.min(to, (long) first + PAGE_DAYS) - first + PAGE_DAYS;
+            for (; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) max = Math.max(max, tree[lo++]);
+                if ((hi & 1) == 1) max = Math.max(max, tree[--hi]);
+            }
+        }
+        return max;
+    }
+
+    synchronized int pages() {
+        return pages.size();
+    }
+
+    private NavigableMap<Integer, int[]> touched(int from, int to) {
+        return pages.subMap(from >> PAGE_BITS, true, (to - 1) >> PAGE_BITS, true);
+    }
+}
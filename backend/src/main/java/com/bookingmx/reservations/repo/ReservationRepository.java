@@ -1,33 +1,530 @@
 package com.bookingmx.reservations.repo;
 
+import com.bookingmx.reservations.exception.ConflictException;
 import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.bookingmx.reservations.repo.archive.ReservationArchive;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
+/**
+ * Reservations partitioned into hotel shards (see {@link #withHotels}); the id, guest and change indexes
+ * span all shards but take no lock across them: the id set and change log are lock-free, and the guest
+ * index only locks the guest being written. A second partitioning, by check-in month, serves date-window queries such as
+ * {@link #findArrivals}.
+ * <p>
+ * {@link #archive} moves reservations that can no longer change into a {@link ReservationArchive}. They
+ * leave every index, so lists and searches only see the hot set, but {@link #findById} still finds them.
+ */
 @Repository
 public class ReservationRepository {
-    private final Map<Long, Reservation> store = new ConcurrentHashMap<>();
+    private static final NavigableSet<Long> EMPTY = Collections.emptyNavigableSet();
+    private static final int SHARDS = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+
+    private final ReservationStore store;
+    // Source of id blocks; each shard hands out ids from its own block
     private final AtomicLong seq = new AtomicLong(1L);
+    private final HotelShard[] shards = new HotelShard[SHARDS];
+    // Set while a thread is inside withHotels: its writes wait for durability after the locks are released
+    private final ThreadLocal<List<CompletableFuture<Void>>> deferredDurability = new ThreadLocal<>();
+
+    // Ordered id index for keyset pagination and streaming
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+
+    // Secondary indexes: name -> ordered ids, maintained inside store.compute so they follow the primary map per id.
+    // The hotel side lives in the shards.
+    private final Map<String, NavigableSet<Long>> byGuest = new ConcurrentHashMap<>();
+    private final ChangeLog changes = new ChangeLog();
+    private final Map<ReservationStatus, LongAdder> statusCounts = new EnumMap<>(ReservationStatus.class);
+    private final CheckInPartitions checkIns = new CheckInPartitions();
+    private volatile int sealedBefore = Integer.MIN_VALUE; // epoch month up to which check-in partitions are sealed
+
+    // Writes hold the read side; a checkpoint takes the write side to cut the log between writes
+    private final ReservationJournal journal;
+    private final StampedLock checkpointLock = new StampedLock();
+
+    private final ReservationArchive archive;
+
+    public ReservationRepository() {
+        this(ReservationJournal.NONE);
+    }
+
+    public ReservationRepository(ReservationJournal journal) {
+        this(journal, new MapReservationStore());
+    }
+
+    public ReservationRepository(ReservationJournal journal, ReservationStore store) {
+        this(journal, store, ReservationArchive.NONE);
+    }
+
+    @Autowired
+    public ReservationRepository(ReservationJournal journal, ReservationStore store, ReservationArchive archive) {
+        this.journal = journal;
+        this.store = store;
+        this.archive = archive;
+        for (int i = 0; i < SHARDS; i++) shards[i] = new HotelShard(i);
+        for (ReservationStatus status : ReservationStatus.values()) statusCounts.put(status, new LongAdder());
+        journal.replay(this::apply, this::clearState);
+        dropArchived();
+        changes.reset();
+    }
 
     public List<Reservation> findAll() {
-        return new ArrayList<>(store.values());
+        return store.values();
+    }
+
+    public int count() {
+        return store.size();
     }
 
+    /** Kept up to date on every write, so reading it does not scan the store. */
+    public long countByStatus(ReservationStatus status) {
+        return statusCounts.get(status).sum();
+    }
+
+    /** Hot reservations first; an archived one costs a search of the archive's files. */
     public Optional<Reservation> findById(Long id) {
-        return Optional.ofNullable(store.get(id));
+        Reservation r = store.get(id);
+        return Optional.ofNullable(r != null ? r : archive.find(id));
+    }
+
+    /** True if the reservation was moved to the archive, where it can be read but no longer changed. */
+    public boolean isArchived(Long id) {
+        return store.get(id) == null && archive.find(id) != null;
+    }
+
+    public long countArchived() {
+        return archive.size();
+    }
+
+    public List<Reservation> findByHotel(String hotelName) {
+        return resolve(hotelIds(hotelName));
     }
 
+    public List<Reservation> findByGuest(String guestName) {
+        return resolve(byGuest.getOrDefault(guestName, EMPTY));
+    }
+
+    public List<Reservation> findByHotelAndGuest(String hotelName, String guestName) {
+        return streamOrdered(hotelName, guestName, null).toList();
+    }
+
+    /**
+     * Lazily walks reservations in id order, optionally filtered by hotel and/or guest
+     * and starting after the given id. Nothing is copied up front.
+     */
+    public Stream<Reservation> streamOrdered(String hotelName, String guestName, Long after) {
+        NavigableSet<Long> source = ids;
+        NavigableSet<Long> probe = null;
+        if (hotelName != null && guestName != null) {
+            // A guest has far fewer bookings than a hotel: walk the guest side, probe the hotel side
+            source = byGuest.getOrDefault(guestName, EMPTY);
+            probe = hotelIds(hotelName);
+        } else if (hotelName != null) {
+            source = hotelIds(hotelName);
+        } else if (guestName != null) {
+            source = byGuest.getOrDefault(guestName, EMPTY);
+        }
+        if (after != null) source = source.tailSet(after, false);
+        Stream<Long> idStream = source.stream();
+        if (probe != null) idStream = idStream.filter(probe::contains);
+        return idStream.map(store::get).filter(Objects::nonNull);
+    }
+
+    public List<Reservation> findPage(String hotelName, String guestName, Long after, int limit) {
+        return streamOrdered(hotelName, guestName, after).limit(limit).toList();
+    }
+
+    /** ACTIVE reservations at the hotel whose stay overlaps {@code [from, to)}. */
+    public List<Reservation> findOverlapping(String hotelName, LocalDate from, LocalDate to) {
+        return resolve(shard(hotelName).availability.overlapping(hotelName, from, to));
+    }
+
+    /**
+     * Rooms taken by ACTIVE reservations on each night of {@code [from, to)}, one entry per night;
+     * O(nights), whatever the number of reservations.
+     */
+    public int[] nightsBooked(String hotelName, LocalDate from, LocalDate to) {
+        return shard(hotelName).availability.booked(hotelName, from, to);
+    }
+
+    /** Rooms taken on the busiest night of {@code [from, to)}; O(log days). */
+    public int peakBooked(String hotelName, LocalDate from, LocalDate to) {
+        return shard(hotelName).availability.peak(hotelName, from, to);
+    }
+
+    /** ACTIVE reservations checking in on {@code [from, to)}, by day then id; only the months in the window are read. */
+    public List<Reservation> findArrivals(LocalDate from, LocalDate to) {
+        List<Reservation> result = new ArrayList<>();
+        checkIns.checkingIn((int) from.toEpochDay(), (int) to.toEpochDay(), (day, id) -> {
+            Reservation r = store.get(id);
+            if (r != null && r.isActive() && r.getCheckIn().toEpochDay() == day) result.add(r);
+        });
+        return result;
+    }
+
+    /**
+     * ACTIVE reservations checking out on {@code [from, to)}, by day then id. Reads the months in the window
+     * and, before it, only as far back as the longest stay that started in each.
+     */
+    public List<Reservation> findDepartures(LocalDate from, LocalDate to) {
+        List<Reservation> result = new ArrayList<>();
+        checkIns.checkingOut((int) from.toEpochDay(), (int) to.toEpochDay(), (day, id) -> {
+            Reservation r = store.get(id);
+            if (r != null && r.isActive() && r.getCheckIn().toEpochDay() == day
+                    && !r.getCheckOut().isBefore(from) && r.getCheckOut().isBefore(to)) result.add(r);
+        });
+        result.sort(Comparator.comparing(Reservation::getCheckOut).thenComparing(Reservation::getId));
+        return result;
+    }
+
+    /**
+     * Seals the check-in partitions of every month before {@code month} into compact read-only arrays. Cheap
+     * to call repeatedly: it only does work once per month, briefly pausing writes like {@link #compact}.
+     */
+    public void sealMonthsBefore(YearMonth month) {
+        int m = (month.getYear() - 1970) * 12 + month.getMonthValue() - 1;
+        if (m <= sealedBefore) return;
+        long stamp = checkpointLock.writeLock();
+        try {
+            if (m > sealedBefore) {
+                checkIns.seal(m);
+                sealedBefore = m;
+            }
+        } finally {
+            checkpointLock.unlockWrite(stamp);
+        }
+    }
+
+    /** Sealed months keep archived ids until rewritten; like {@link #sealMonthsBefore}, briefly pauses writes. */
+    private void compactCheckIns() {
+        long stamp = checkpointLock.writeLock();
+        try {
+            checkIns.compact();
+        } finally {
+            checkpointLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs {@code action} holding the locks of the shards these hotels belong to, so a check followed by a
+     * write (capacity, overlaps) is atomic against every other {@code withHotels} caller on those hotels, while
+     * writers to hotels in other shards proceed in parallel. Locks are taken in shard order and are reentrant.
+     * Writes made inside wait for the journal only after the locks are released.
+     */
+    public <T> T withHotels(Collection<String> hotelNames, Supplier<T> action) {
+        boolean[] needed = new boolean[SHARDS];
+        for (String hotel : hotelNames) needed[shard(hotel).index] = true;
+        boolean outermost = deferredDurability.get() == null;
+        if (outermost) deferredDurability.set(new ArrayList<>());
+        List<CompletableFuture<Void>> durable = deferredDurability.get();
+        int locked = 0;
+        try {
+            for (; locked < SHARDS; locked++) if (needed[locked]) shards[locked].lock.lock();
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) if (needed[i]) shards[i].lock.unlock();
+            if (outermost) {
+                deferredDurability.remove();
+                durable.forEach(CompletableFuture::join);
+            }
+        }
+    }
+
+    /** False once the journal has failed a write; every later write is refused until a restart. */
+    public boolean isJournalHealthy() {
+        return journal.isHealthy();
+    }
+
+    /** Increases with every stored change; pass it back to {@link #changesSince} to get what changed after it. */
+    public long changeSequence() {
+        return changes.sequence();
+    }
+
+    /** Wall-clock millis of the last stored change. */
+    public long lastModified() {
+        return changes.lastModified();
+    }
+
+    /**
+     * Current state of every reservation changed after {@code since} and up to {@code upTo} (a value of
+     * {@link #changeSequence()}), in change order. Empty if that history is no longer known (the store was
+     * cleared or restarted since, or {@code since} was never handed out) and the caller must start over.
+     */
+    public Optional<List<Reservation>> changesSince(long since, long upTo) {
+        if (since < changes.resetAt() || since > upTo) return Optional.empty();
+        return changes.changedBetween(since, upTo).map(this::resolve);
+    }
+
+    /**
+     * Stores {@code r} as the next version of its reservation. A new reservation (no id) gets an id and
+     * version 1; otherwise {@code r} must carry the version it was derived from, and the write is refused
+     * with {@link ConflictException} if another write got there first.
+     */
     public Reservation save(Reservation r) {
-        if (r.getId() == null) r.setId(seq.getAndIncrement());
-        store.put(r.getId(), r);
-        return r;
+        if (r.getId() == null) r = r.withId(shard(r.getHotelName()).nextId(seq));
+        List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        Reservation stored = write(r, durable);
+        if (stored == null) throw new ConflictException("Reservation was modified concurrently");
+        awaitDurable(durable); // group commit: wait for the fsync outside any lock
+        return stored;
+    }
+
+    /**
+     * Saves in order, waiting once for the journal at the end. Returns the stored reservations in input
+     * order, with {@code null} where a version check failed.
+     */
+    public List<Reservation> saveAll(List<Reservation> batch) {
+        List<Reservation> stored = new ArrayList<>(batch.size());
+        List<CompletableFuture<Void>> durable = new ArrayList<>(batch.size());
+        for (Reservation r : batch) {
+            if (r.getId() == null) r = r.withId(shard(r.getHotelName()).nextId(seq));
+            stored.add(write(r, durable));
+        }
+        awaitDurable(durable);
+        return stored;
+    }
+
+    /**
+     * Applies {@code transition} to the current reservation atomically and stores the result as the next
+     * version. The transition may throw to refuse the change; nothing is stored then. Empty if the id is unknown.
+     */
+    public Optional<Reservation> update(Long id, UnaryOperator<Reservation> transition) {
+        List<CompletableFuture<Void>> durable = new ArrayList<>(1);
+        Reservation[] stored = new Reservation[1];
+        long[] sequence = new long[1];
+        long stamp = checkpointLock.readLock();
+        try {
+            store.compute(id, (key, previous) -> {
+                if (previous == null) return null;
+                Reservation next = transition.apply(previous).withVersion(previous.getVersion() + 1);
+                return stored[0] = commit(key, previous, next, durable, sequence);
+            });
+        } finally {
+            if (sequence[0] != 0) changes.publish(sequence[0], id);
+            checkpointLock.unlockRead(stamp);
+        }
+        awaitDurable(durable);
+        return Optional.ofNullable(stored[0]);
+    }
+
+    /**
+     * Moves every canceled reservation, and every one checked out on or before {@code checkedOutBy}, to the
+     * archive. They are written to it (durably) before they leave the hot set, and only if they did not change
+     * in between; one that did stays hot until a later run. Returns the reservations moved.
+     * <p>
+     * Nothing is journaled: on startup, replayed reservations that the archive holds at the same version
+     * are dropped again, and the next snapshot leaves them out.
+     * <p>
+     * {@link #changesSince} can only report reservations that are still hot, so a run that moves anything
+     * resets the change history: every earlier cursor gets a full resync, which no longer has them.
+     */
+    public synchronized List<Reservation> archive(LocalDate checkedOutBy) {
+        List<Reservation> cold = store.values().stream()
+                .filter(r -> !r.isActive() || !r.getCheckOut().isAfter(checkedOutBy))
+                .sorted(Comparator.comparing(Reservation::getId))
+                .toList();
+        if (cold.isEmpty()) return List.of();
+        archive.append(cold);
+        List<Reservation> moved = new ArrayList<>(cold.size());
+        long stamp = checkpointLock.readLock();
+        try {
+            for (Reservation r : cold) {
+                store.compute(r.getId(), (id, current) -> {
+                    if (current == null || current.getVersion() != r.getVersion()) return current;
+                    unlink(id, current);
+                    moved.add(current);
+                    return null;
+                });
+            }
+            if (!moved.isEmpty()) changes.reset(); // also moves the sequence, so list ETags change
+        } finally {
+            checkpointLock.unlockRead(stamp);
+        }
+        if (!moved.isEmpty()) compactCheckIns();
+        return moved;
     }
 
     public void deleteAll() {
+        CompletableFuture<Void> durable;
+        long stamp = checkpointLock.readLock();
+        try {
+            durable = journal.appendClear();
+            clearState();
+            archive.clear();
+        } finally {
+            checkpointLock.unlockRead(stamp);
+        }
+        durable.join();
+    }
+
+    /**
+     * Cuts a new journal generation and snapshots the current state into it, so replay
+     * no longer needs the older log segments.
+     */
+    public synchronized void compact() {
+        long generation;
+        long stamp = checkpointLock.writeLock();
+        try {
+            generation = journal.rotate();
+        } finally {
+            checkpointLock.unlockWrite(stamp);
+        }
+        journal.checkpoint(generation, findAll());
+    }
+
+    private void awaitDurable(List<CompletableFuture<Void>> durable) {
+        List<CompletableFuture<Void>> deferred = deferredDurability.get();
+        if (deferred != null) deferred.addAll(durable);
+        else durable.forEach(CompletableFuture::join);
+    }
+
+    /** Compare-and-swap on the version; returns the stored copy, or null if the stored version moved on. */
+    private Reservation write(Reservation r, List<CompletableFuture<Void>> durable) {
+        Reservation[] stored = new Reservation[1];
+        long[] sequence = new long[1];
+        long stamp = checkpointLock.readLock();
+        try {
+            store.compute(r.getId(), (id, previous) -> {
+                long current = previous == null ? 0L : previous.getVersion();
+                if (r.getVersion() != current) return previous;
+                return stored[0] = commit(id, previous, r.withVersion(current + 1), durable, sequence);
+            });
+        } finally {
+            if (sequence[0] != 0) changes.publish(sequence[0], r.getId());
+            checkpointLock.unlockRead(stamp);
+        }
+        return stored[0];
+    }
+
+    /** The change number is claimed here, in per-id order, and published by the caller once the store holds {@code next}. */
+    private Reservation commit(Long id, Reservation previous, Reservation next, List<CompletableFuture<Void>> durable, long[] sequence) {
+        // queued under the entry lock so log order matches memory, and first so a refused append changes nothing
+        durable.add(journal.append(next));
+        link(id, previous, next);
+        sequence[0] = changes.claim();
+        return next;
+    }
+
+    /** Replayed writes: indexed like a save but not journaled again. */
+    private void apply(Reservation r) {
+        store.compute(r.getId(), (id, previous) -> {
+            link(id, previous, r);
+            return r;
+        });
+        seq.accumulateAndGet(r.getId() + 1, Math::max);
+    }
+
+    private void link(Long id, Reservation previous, Reservation current) {
+        if (previous == null) ids.add(id);
+        reindex(id, previous, current);
+    }
+
+    private void unlink(Long id, Reservation r) {
+        ids.remove(id);
+        unindex(shard(r.getHotelName()).byHotel, r.getHotelName(), id);
+        unindex(byGuest, r.getGuestName(), id);
+        checkIns.remove(r);
+        shard(r.getHotelName()).availability.remove(r);
+        statusCounts.get(r.getStatus()).decrement();
+    }
+
+    /** After replay: ids stay above everything archived, and what the archive already holds leaves the hot set. */
+    private void dropArchived() {
+        long maxArchived = archive.maxId();
+        if (maxArchived == 0) return;
+        seq.accumulateAndGet(maxArchived + 1, Math::max);
+        for (Reservation r : store.values()) {
+            if (r.getId() > maxArchived) continue;
+            Reservation cold = archive.find(r.getId());
+            if (cold == null || cold.getVersion() < r.getVersion()) continue;
+            store.compute(r.getId(), (id, current) -> {
+                unlink(id, current);
+                return null;
+            });
+        }
+    }
+
+    private void clearState() {
         store.clear();
+        ids.clear();
+        for (HotelShard shard : shards) shard.clear();
+        byGuest.clear();
+        checkIns.clear();
+        sealedBefore = Integer.MIN_VALUE;
+        statusCounts.values().forEach(LongAdder::reset);
+        changes.reset();
         seq.set(1L);
     }
+
+    private List<Reservation> resolve(Collection<Long> matches) {
+        List<Reservation> result = new ArrayList<>();
+        for (Long id : matches) {
+            Reservation r = store.get(id);
+            if (r != null) result.add(r);
+        }
+        return result;
+    }
+
+    private void reindex(Long id, Reservation previous, Reservation current) {
+        String oldHotel = previous == null ? null : previous.getHotelName();
+        String oldGuest = previous == null ? null : previous.getGuestName();
+        if (!Objects.equals(oldHotel, current.getHotelName())) {
+            if (previous != null) unindex(shard(oldHotel).byHotel, oldHotel, id);
+            index(shard(current.getHotelName()).byHotel, current.getHotelName(), id);
+        }
+        if (!Objects.equals(oldGuest, current.getGuestName())) {
+            unindex(byGuest, oldGuest, id);
+            index(byGuest, current.getGuestName(), id);
+        }
+        boolean moved = previous != null && !previous.getCheckIn().equals(current.getCheckIn());
+        if (moved) checkIns.remove(previous); // a new check-in month is a move between partitions
+        if (previous == null || moved || !previous.getCheckOut().equals(current.getCheckOut())) checkIns.add(current);
+        if (previous != null) shard(previous.getHotelName()).availability.remove(previous);
+        shard(current.getHotelName()).availability.add(current);
+        if (previous == null || previous.getStatus() != current.getStatus()) {
+            if (previous != null) statusCounts.get(previous.getStatus()).decrement();
+            statusCounts.get(current.getStatus()).increment();
+        }
+    }
+
+    private HotelShard shard(String hotelName) {
+        int h = Objects.hashCode(hotelName);
+        return shards[(h ^ (h >>> 16)) & (SHARDS - 1)];
+    }
+
+    private NavigableSet<Long> hotelIds(String hotelName) {
+        return shard(hotelName).byHotel.getOrDefault(hotelName, EMPTY);
+    }
+
+    private static void index(Map<String, NavigableSet<Long>> index, String key, Long id) {
+        if (key == null) return;
+        index.compute(key, (k, set) -> {
+            if (set == null) set = new ConcurrentSkipListSet<>();
+            set.add(id);
+            return set;
+        });
+    }
+
+    private static void unindex(Map<String, NavigableSet<Long>> index, String key, Long id) {
+        if (key == null) return;
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(id);
+            return set.isEmpty() ? null : set;
+        });
+    }
 }
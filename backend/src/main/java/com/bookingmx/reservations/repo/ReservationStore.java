@@ -0,0 +1,25 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Primary storage behind {@link ReservationRepository}: reservations by id. Indexes live in the
+ * repository; a store only has to make {@link #compute} atomic per id, like {@code ConcurrentHashMap}.
+ */
+public interface ReservationStore {
+
+    Reservation get(Long id);
+
+    /** Same contract as {@code Map.compute}: the remapping runs atomically for the id, {@code null} removes. */
+    Reservation compute(Long id, BiFunction<Long, Reservation, Reservation> remapping);
+
+    /** A point-in-time copy of every stored reservation. */
+    List<Reservation> values();
+
+    int size();
+
+    void clear();
+}
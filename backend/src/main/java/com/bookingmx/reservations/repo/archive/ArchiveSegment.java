@@ -0,0 +1,187 @@
+package com.bookingmx.reservations.repo.archive;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One immutable archive file, memory-mapped and searched in place.
+ * <pre>
+ * header   magic:int version:int count:long strings:int pad:int stringTableOffset:long minId:long maxId:long  (48 bytes)
+ * records  count x 40 bytes, by increasing id: id:long checkIn:int checkOut:int guest:int hotel:int status:byte pad:7 version:long
+ * strings  strings x offset:long, then each string as length:int utf8 bytes (length -1 for null)
+ * </pre>
+ * Records have the snapshot's fixed-width layout, so a lookup is a binary search over the mapped records;
+ * the string offsets let it decode just the two names it returns.
+ */
+final class ArchiveSegment {
+    static final int MAGIC = 0x424D5841; // "BMXA"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 48;
+    static final int RECORD_BYTES = 40;
+    // a segment is mapped with one buffer, so it has to stay under 2 GiB
+    static final long MAX_BYTES = Integer.MAX_VALUE;
+
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+    private static final int WRITE_CHUNK = 1 << 20;
+    private static final byte[] PADDING = new byte[7];
+
+    private final Path path;
+    private final ByteBuffer buf;
+    private final int count;
+    private final int stringTableOffset;
+    private final long minId;
+    private final long maxId;
+
+    private ArchiveSegment(Path path, ByteBuffer buf) throws IOException {
+        this.path = path;
+        this.buf = buf;
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) throw new IOException("Unsupported archive segment " + path);
+        this.count = (int) buf.getLong(8);
+        this.stringTableOffset = (int) buf.getLong(24);
+        this.minId = buf.getLong(32);
+        this.maxId = buf.getLong(40);
+    }
+
+    static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (ch.size() > MAX_BYTES) throw new IOException("Archive segment too large: " + path);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            return new ArchiveSegment(path, buf); // the mapping outlives the channel
+        }
+    }
+
+    /** Writes and fsyncs {@code sortedById}; ids must strictly increase. Returns the number of records written. */
+    static long write(Path path, Iterator<Reservation> sortedById) throws IOException {
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Map<String, Integer> stringIds = new HashMap<>();
+            List<byte[]> strings = new ArrayList<>();
+            ByteBuffer chunk = ByteBuffer.allocate(WRITE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            long pos = HEADER_BYTES;
+            long count = 0;
+            long minId = 0;
+            long maxId = 0;
+            while (sortedById.hasNext()) {
+                Reservation r = sortedById.next();
+                if (count > 0 && r.getId() <= maxId) throw new IllegalArgumentException("Archived reservations must be in increasing id order");
+                if (count == 0) minId = r.getId();
+                maxId = r.getId();
+                if (chunk.remaining() < RECORD_BYTES) pos += drain(out, chunk, pos);
+                chunk.putLong(r.getId())
+                        .putInt((int) r.getCheckIn().toEpochDay())
+                        .putInt((int) r.getCheckOut().toEpochDay())
+                        .putInt(intern(r.getGuestName(), stringIds, strings))
+                        .putInt(intern(r.getHotelName(), stringIds, strings))
+                        .put((byte) r.getStatus().ordinal())
+                        .put(PADDING)
+                        .putLong(r.getVersion());
+                count++;
+            }
+            pos += drain(out, chunk, pos);
+
+            long stringTableOffset = pos;
+            long data = stringTableOffset + 8L * strings.size();
+            for (byte[] s : strings) {
+                if (chunk.remaining() < 8) pos += drain(out, chunk, pos);
+                chunk.putLong(data);
+                data += 4 + (s == null ? 0 : s.length);
+            }
+            if (data > MAX_BYTES) throw new IOException("Archive segment would exceed " + MAX_BYTES + " bytes");
+            for (byte[] s : strings) {
+                int length = s == null ? 0 : s.length;
+                if (chunk.remaining() < 4 + length) pos += drain(out, chunk, pos);
+                if (chunk.remaining() < 4 + length) {
+                    ByteBuffer big = ByteBuffer.allocate(4 + length).order(ByteOrder.LITTLE_ENDIAN);
+                    pos += drain(out, big.putInt(length).put(s), pos);
+                } else {
+                    chunk.putInt(s == null ? -1 : length);
+                    if (s != null) chunk.put(s);
+                }
+            }
+            drain(out, chunk, pos);
+
+            chunk.putInt(MAGIC).putInt(VERSION).putLong(count).putInt(strings.size()).putInt(0)
+                    .putLong(stringTableOffset).putLong(minId).putLong(maxId);
+            drain(out, chunk, 0);
+            out.force(true);
+            return count;
+        }
+    }
+
+    Path path() { return path; }
+    int count() { return count; }
+    long bytes() { return buf.capacity(); }
+    long minId() { return minId; }
+    long maxId() { return maxId; }
+
+    long id(int i) {
+        return buf.getLong(HEADER_BYTES + i * RECORD_BYTES);
+    }
+
+    /** The archived reservation with this id, or null; O(log count) reads of the mapped file. */
+    Reservation find(long id) {
+        if (count == 0 || id < minId || id > maxId) return null;
+        int lo = 0, hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long at = id(mid);
+            if (at < id) lo = mid + 1;
+            else if (at > id) hi = mid - 1;
+            else return get(mid);
+        }
+        return null;
+    }
+
+    Reservation get(int i) {
+        int base = HEADER_BYTES + i * RECORD_BYTES;
+        return new Reservation(buf.getLong(base),
+                string(buf.getInt(base + 16)),
+                string(buf.getInt(base + 20)),
+                LocalDate.ofEpochDay(buf.getInt(base + 8)),
+                LocalDate.ofEpochDay(buf.getInt(base + 12)),
+                STATUSES[buf.get(base + 24)],
+                buf.getLong(base + 32));
+    }
+
+    // absolute reads only: the buffer is shared by every lookup
+    private String string(int index) {
+        int at = (int) buf.getLong(stringTableOffset + 8 * index);
+        int length = buf.getInt(at);
+        if (length < 0) return null;
+        byte[] b = new byte[length];
+        buf.get(at + 4, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static int intern(String s, Map<String, Integer> ids, List<byte[]> strings) {
+        Integer id = ids.get(s);
+        if (id != null) return id;
+        id = strings.size();
+        ids.put(s, id);
+        strings.add(s == null ? null : s.getBytes(StandardCharsets.UTF_8));
+        return id;
+    }
+
+    private static int drain(FileChannel out, ByteBuffer buf, long position) throws IOException {
+        buf.flip();
+        int written = buf.remaining();
+        while (buf.hasRemaining()) position += out.write(buf, position);
+        buf.clear();
+        return written;
+    }
+}
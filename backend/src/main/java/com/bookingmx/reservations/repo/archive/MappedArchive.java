@@ -0,0 +1,206 @@
+package com.bookingmx.reservations.repo.archive;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Archive kept in {@link ArchiveSegment} files ({@code archive-N.seg}) that are mapped rather than read
+ * onto the heap. Every {@link #append} writes one new segment; a lookup searches the segments newest first.
+ * <p>
+ * Once more than {@code MAX_SEGMENTS} of the newest segments would fit in one file together, they are merged
+ * into one, keeping the latest copy of each reservation. Only a newest run is merged, so the result still
+ * sorts ahead of everything older. A segment too large to join that run is left as it is. So a lookup
+ * searches at most {@code MAX_SEGMENTS} recent segments plus one per couple of GiB archived before them.
+ */
+public final class MappedArchive implements ReservationArchive {
+    static final int MAX_SEGMENTS = 8;
+
+    private final Path dir;
+    private final boolean temporary;
+    private final long mergeBytes;
+    private volatile List<ArchiveSegment> segments; // newest first; replaced, never mutated
+    private volatile long maxId;
+    private long generation; // guarded by this
+
+    private MappedArchive(Path dir, boolean temporary, long mergeBytes) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.temporary = temporary;
+        this.mergeBytes = mergeBytes;
+        List<ArchiveSegment> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.toList()) {
+                String name = p.getFileName().toString();
+                if (name.endsWith(".tmp")) Files.deleteIfExists(p); // a write that never completed
+                else if (name.startsWith("archive-") && name.endsWith(".seg")) found.add(ArchiveSegment.open(p));
+            }
+        }
+        found.sort(Comparator.comparingLong((ArchiveSegment s) -> generation(s.path())).reversed());
+        this.segments = List.copyOf(found);
+        this.generation = found.isEmpty() ? 0 : generation(found.get(0).path());
+        this.maxId = found.stream().mapToLong(ArchiveSegment::maxId).max().orElse(0);
+    }
+
+    /** Opens (or creates) the archive in {@code dir}, keeping whatever earlier runs archived there. */
+    public static MappedArchive open(Path dir) throws IOException {
+        return new MappedArchive(dir, false, ArchiveSegment.MAX_BYTES);
+    }
+
+    /** {@link #open(Path)} with a smaller merged-segment size, so tests can reach it. */
+    static MappedArchive open(Path dir, long mergeBytes) throws IOException {
+        return new MappedArchive(dir, false, mergeBytes);
+    }
+
+    /** An archive in a fresh temporary directory, deleted on {@link #close}: off-heap, but not kept across restarts. */
+    public static MappedArchive temporary() throws IOException {
+        return new MappedArchive(Files.createTempDirectory("bookingmx-archive"), true, ArchiveSegment.MAX_BYTES);
+    }
+
+    @Override
+    public Reservation find(long id) {
+        for (ArchiveSegment segment : segments) {
+            Reservation r = segment.find(id);
+            if (r != null) return r;
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void append(List<Reservation> sortedById) {
+        if (sortedById.isEmpty()) return;
+        try {
+            List<ArchiveSegment> next = new ArrayList<>(segments.size() + 1);
+            next.add(writeSegment(sortedById.iterator()));
+            next.addAll(segments);
+            segments = List.copyOf(next);
+            maxId = Math.max(maxId, next.get(0).maxId());
+            if (segments.size() > MAX_SEGMENTS) compact();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive reservations in " + dir, e);
+        }
+    }
+
+    @Override
+    public long maxId() {
+        return maxId;
+    }
+
+    @Override
+    public long size() {
+        long n = 0;
+        for (ArchiveSegment segment : segments) n += segment.count();
+        return n;
+    }
+
+    @Override
+    public synchronized void clear() {
+        List<ArchiveSegment> old = segments;
+        segments = List.of();
+        maxId = 0;
+        delete(old);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!temporary) return;
+        clear();
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Merges the newest segments whose files add up to at most {@code mergeBytes}, once there are more than
+     * {@code MAX_SEGMENTS} of them. A merged file is never larger than its inputs together.
+     */
+    private void compact() throws IOException {
+        int run = 0;
+        long bytes = 0;
+        while (run < segments.size() && bytes + segments.get(run).bytes() <= mergeBytes) bytes += segments.get(run++).bytes();
+        if (run <= MAX_SEGMENTS) return;
+        List<ArchiveSegment> old = segments.subList(0, run);
+        List<ArchiveSegment> next = new ArrayList<>(segments.size() - run + 1);
+        next.add(writeSegment(new Merged(old)));
+        next.addAll(segments.subList(run, segments.size()));
+        segments = List.copyOf(next);
+        delete(old);
+    }
+
+    /** Written under a temporary name and renamed, so a crash never leaves a partial segment to be opened. */
+    private ArchiveSegment writeSegment(Iterator<Reservation> sortedById) throws IOException {
+        Path target = dir.resolve("archive-" + (++generation) + ".seg");
+        Path tmp = dir.resolve(target.getFileName() + ".tmp");
+        try {
+            ArchiveSegment.write(tmp, sortedById);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        return ArchiveSegment.open(target);
+    }
+
+    private void delete(List<ArchiveSegment> old) {
+        for (ArchiveSegment segment : old) {
+            try {
+                Files.deleteIfExists(segment.path()); // lookups still holding the mapping can finish reading it
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static long generation(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring("archive-".length(), name.length() - ".seg".length()));
+    }
+
+    /** The segments' records in id order, one per id: the copy from the newest segment that has it. */
+    private static final class Merged implements Iterator<Reservation> {
+        private final List<ArchiveSegment> segments;
+        private final int[] positions;
+        // segment indexes by (next id, segment age), newest segment first on equal ids
+        private final PriorityQueue<Integer> heads;
+
+        Merged(List<ArchiveSegment> segments) {
+            this.segments = segments;
+            this.positions = new int[segments.size()];
+            this.heads = new PriorityQueue<>(Comparator.<Integer>comparingLong(s -> segments.get(s).id(positions[s]))
+                    .thenComparingInt(s -> s));
+            for (int s = 0; s < segments.size(); s++) if (segments.get(s).count() > 0) heads.add(s);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Reservation next() {
+            if (heads.isEmpty()) throw new NoSuchElementException();
+            int s = heads.poll();
+            ArchiveSegment segment = segments.get(s);
+            Reservation r = segment.get(positions[s]);
+            advance(s);
+            while (!heads.isEmpty() && segments.get(heads.peek()).id(positions[heads.peek()]) == r.getId()) advance(heads.poll());
+            return r;
+        }
+
+        private void advance(int s) {
+            if (++positions[s] < segments.get(s).count()) heads.add(s);
+        }
+    }
+}
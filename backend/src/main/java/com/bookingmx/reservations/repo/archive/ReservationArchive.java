@@ -0,0 +1,38 @@
+package com.bookingmx.reservations.repo.archive;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.util.List;
+
+/**
+ * Cold tier for {@code ReservationRepository}: reservations that no longer change (canceled, or checked out
+ * long ago) moved out of the heap. Archived reservations are only ever looked up by id.
+ */
+public interface ReservationArchive extends AutoCloseable {
+
+    /** Archives nothing; the default. */
+    ReservationArchive NONE = new ReservationArchive() {
+        @Override public Reservation find(long id) { return null; }
+        @Override public void append(List<Reservation> sortedById) { throw new IllegalStateException("Archiving is disabled"); }
+        @Override public long maxId() { return 0; }
+        @Override public long size() { return 0; }
+        @Override public void clear() { }
+    };
+
+    /** The latest archived version of the reservation, or null if it was never archived. */
+    Reservation find(long id);
+
+    /** Persists the reservations, which must be in increasing id order; they are durable once this returns. */
+    void append(List<Reservation> sortedById);
+
+    /** Highest id ever archived (0 if none), so new ids are never handed out twice. */
+    long maxId();
+
+    /** Archived records, counting a reservation archived twice until the copies are merged. */
+    long size();
+
+    void clear();
+
+    @Override
+    default void close() { }
+}
@@ -0,0 +1,117 @@
+package com.bookingmx.reservations.repo.journal;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Record framing of the log segments: {@code [int length][int crc32c][payload]}. Snapshots have their own
+ * fixed-width format ({@link SnapshotFile}).
+ * A PUT payload is type, id, status, check-in/out epoch days, the two names as length-prefixed UTF-8
+ * and the version.
+ */
+final class JournalCodec {
+    static final int HEADER_BYTES = 8;
+    static final byte PUT = 1;
+    static final byte CLEAR = 2;
+
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+
+    private JournalCodec() { }
+
+    static ByteBuffer encodePut(Reservation r) {
+        byte[] guest = bytes(r.getGuestName());
+        byte[] hotel = bytes(r.getHotelName());
+        int payload = 1 + 8 + 1 + 4 + 4 + 4 + length(guest) + 4 + length(hotel) + 8;
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + payload);
+        buf.position(HEADER_BYTES);
+        buf.put(PUT)
+                .putLong(r.getId())
+                .put((byte) r.getStatus().ordinal())
+                .putInt((int) r.getCheckIn().toEpochDay())
+                .putInt((int) r.getCheckOut().toEpochDay());
+        putString(buf, guest);
+        putString(buf, hotel);
+        buf.putLong(r.getVersion());
+        return frame(buf);
+    }
+
+    static ByteBuffer encodeClear() {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + 1);
+        buf.position(HEADER_BYTES);
+        buf.put(CLEAR);
+        return frame(buf);
+    }
+
+    /**
+     * Decodes records until the buffer ends or a torn/corrupt record is found.
+     * Returns the position just past the last good record.
+     */
+    static int readRecords(ByteBuffer buf, Consumer<Reservation> put, Runnable clear) {
+        CRC32C crc = new CRC32C();
+        int good = buf.position();
+        while (buf.remaining() >= HEADER_BYTES) {
+            int length = buf.getInt();
+            int checksum = buf.getInt();
+            if (length <= 0 || length > buf.remaining()) break;
+            ByteBuffer payload = buf.slice(buf.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) break;
+            byte type = payload.get();
+            if (type == PUT) put.accept(decodePut(payload));
+            else if (type == CLEAR) clear.run();
+            else break;
+            buf.position(buf.position() + length);
+            good = buf.position();
+        }
+        return good;
+    }
+
+    private static Reservation decodePut(ByteBuffer p) {
+        long id = p.getLong();
+        ReservationStatus status = STATUSES[p.get()];
+        LocalDate checkIn = LocalDate.ofEpochDay(p.getInt());
+        LocalDate checkOut = LocalDate.ofEpochDay(p.getInt());
+        String guest = getString(p);
+        String hotel = getString(p);
+        return new Reservation(id, guest, hotel, checkIn, checkOut, status, p.getLong());
+    }
+
+    private static ByteBuffer frame(ByteBuffer buf) {
+        int length = buf.position() - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(buf.array(), HEADER_BYTES, length);
+        buf.putInt(0, length).putInt(4, (int) crc.getValue());
+        return buf.flip();
+    }
+
+    private static byte[] bytes(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] b) {
+        return b == null ? 0 : b.length;
+    }
+
+    private static void putString(ByteBuffer buf, byte[] b) {
+        if (b == null) {
+            buf.putInt(-1);
+            return;
+        }
+        buf.putInt(b.length).put(b);
+    }
+
+    private static String getString(ByteBuffer p) {
+        int len = p.getInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        p.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookingmx.reservations.repo.journal;
+
+import com.bookingmx.reservations.repo.ReservationRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically snapshots the repository so the log replayed on startup stays short.
+ */
+@Component
+@ConditionalOnProperty(name = "bookingmx.persistence.mode", havingValue = "wal")
+public class JournalCompactionTask {
+    private final ReservationRepository repo;
+
+    public JournalCompactionTask(ReservationRepository repo) {
+        this.repo = repo;
+    }
+
+    @Scheduled(fixedDelayString = "${bookingmx.persistence.compact-interval}",
+            initialDelayString = "${bookingmx.persistence.compact-interval}")
+    public void compact() {
+        repo.compact();
+    }
+}
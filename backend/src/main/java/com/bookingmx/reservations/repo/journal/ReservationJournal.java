@@ -0,0 +1,50 @@
+package com.bookingmx.reservations.repo.journal;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Persistence hook for {@code ReservationRepository}. The repository appends every write while holding
+ * the entry's lock (so per-id order matches memory) and waits on the returned future outside it.
+ */
+public interface ReservationJournal extends AutoCloseable {
+
+    /** Keeps nothing; the default in-memory mode. */
+    ReservationJournal NONE = new ReservationJournal() {
+        private final CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+
+        @Override public void replay(Consumer<Reservation> put, Runnable clear) { }
+        @Override public CompletableFuture<Void> append(Reservation r) { return done; }
+        @Override public CompletableFuture<Void> appendClear() { return done; }
+        @Override public long rotate() { return 0; }
+        @Override public void checkpoint(long generation, Collection<Reservation> live) { }
+    };
+
+    /** Feeds the persisted state back on startup, in write order. */
+    void replay(Consumer<Reservation> put, Runnable clear);
+
+    /** Queues a record; the future completes once it is durable. */
+    CompletableFuture<Void> append(Reservation r);
+
+    CompletableFuture<Void> appendClear();
+
+    /**
+     * Starts a new log generation. Must be called while no writes are in flight so every
+     * earlier write is visible to the state later passed to {@link #checkpoint}.
+     */
+    long rotate();
+
+    /** Persists {@code live} as the snapshot of the given generation and drops everything older. */
+    void checkpoint(long generation, Collection<Reservation> live);
+
+    /** False once a write has failed; appends are refused from then on. */
+    default boolean isHealthy() {
+        return true;
+    }
+
+    @Override
+    default void close() { }
+}
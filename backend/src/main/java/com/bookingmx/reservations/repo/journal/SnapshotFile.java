@@ -0,0 +1,160 @@
+package com.bookingmx.reservations.repo.journal;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Compact, versioned snapshot of every live reservation.
+ * <pre>
+ * header   magic:int version:int count:long strings:int pad:int stringTableOffset:long      (32 bytes)
+ * records  count x 40 bytes: id:long checkIn:int checkOut:int guest:int hotel:int status:byte pad:7 version:long
+ * strings  strings x (length:int utf8 bytes)
+ * </pre>
+ * Dates are epoch days, status is the enum ordinal and names are indexes into the string table, so each
+ * distinct hotel or guest name is stored and decoded once. Records are fixed width, which lets a loader
+ * map the file and decode disjoint ranges in parallel.
+ */
+final class SnapshotFile {
+    static final int MAGIC = 0x424D5853; // "BMXS"
+    static final int VERSION = 3;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 40;
+
+    private static final ReservationStatus[] STATUSES = ReservationStatus.values();
+    private static final int WRITE_CHUNK = 1 << 20;
+    private static final int RECORDS_PER_TASK = 64 * 1024;
+    private static final byte[] PADDING = new byte[7];
+
+    private SnapshotFile() { }
+
+    static void write(Path path, Collection<Reservation> live) throws IOException {
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Map<String, Integer> stringIds = new HashMap<>();
+            List<byte[]> strings = new ArrayList<>();
+            ByteBuffer chunk = ByteBuffer.allocate(WRITE_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            long pos = HEADER_BYTES;
+            long count = 0;
+            for (Reservation r : live) {
+                if (chunk.remaining() < RECORD_BYTES) pos += drain(out, chunk, pos);
+                chunk.putLong(r.getId())
+                        .putInt((int) r.getCheckIn().toEpochDay())
+                        .putInt((int) r.getCheckOut().toEpochDay())
+                        .putInt(intern(r.getGuestName(), stringIds, strings))
+                        .putInt(intern(r.getHotelName(), stringIds, strings))
+                        .put((byte) r.getStatus().ordinal())
+                        .put(PADDING)
+                        .putLong(r.getVersion());
+                count++;
+            }
+            pos += drain(out, chunk, pos);
+
+            long stringTableOffset = pos;
+            for (byte[] s : strings) {
+                if (s == null) {
+                    if (chunk.remaining() < 4) pos += drain(out, chunk, pos);
+                    chunk.putInt(-1);
+                    continue;
+                }
+                if (chunk.remaining() < 4 + s.length) pos += drain(out, chunk, pos);
+                if (chunk.remaining() < 4 + s.length) {
+                    ByteBuffer big = ByteBuffer.allocate(4 + s.length).order(ByteOrder.LITTLE_ENDIAN);
+                    pos += drain(out, big.putInt(s.length).put(s), pos);
+                } else {
+                    chunk.putInt(s.length).put(s);
+                }
+            }
+            drain(out, chunk, pos);
+
+            chunk.putInt(MAGIC).putInt(VERSION).putLong(count).putInt(strings.size()).putInt(0).putLong(stringTableOffset);
+            drain(out, chunk, 0);
+            out.force(true);
+        }
+    }
+
+    /**
+     * Maps the snapshot and feeds every reservation to {@code put}, decoding record ranges on the
+     * common fork-join pool. {@code put} must therefore be thread-safe.
+     */
+    static void read(FileChannel ch, Consumer<Reservation> put) throws IOException {
+        ByteBuffer header = map(ch, 0, HEADER_BYTES);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) throw new IOException("Unsupported reservation snapshot");
+        long count = header.getLong();
+        int stringCount = header.getInt();
+        header.getInt();
+        long stringTableOffset = header.getLong();
+
+        String[] strings = new String[stringCount];
+        ByteBuffer table = map(ch, stringTableOffset, ch.size() - stringTableOffset);
+        for (int i = 0; i < stringCount; i++) {
+            int length = table.getInt();
+            if (length < 0) continue; // null name
+            byte[] b = new byte[length];
+            table.get(b);
+            strings[i] = new String(b, StandardCharsets.UTF_8);
+        }
+
+        int tasks = (int) ((count + RECORDS_PER_TASK - 1) / RECORDS_PER_TASK);
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            long from = (long) task * RECORDS_PER_TASK;
+            int n = (int) Math.min(RECORDS_PER_TASK, count - from);
+            ByteBuffer records;
+            try {
+                records = map(ch, HEADER_BYTES + from * RECORD_BYTES, (long) n * RECORD_BYTES);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (int i = 0; i < n; i++) {
+                int base = i * RECORD_BYTES;
+                put.accept(new Reservation(records.getLong(base),
+                        strings[records.getInt(base + 16)],
+                        strings[records.getInt(base + 20)],
+                        LocalDate.ofEpochDay(records.getInt(base + 8)),
+                        LocalDate.ofEpochDay(records.getInt(base + 12)),
+                        STATUSES[records.get(base + 24)],
+                        records.getLong(base + 32)));
+            }
+        });
+    }
+
+    /** Not String.intern(): a snapshot-local table so equal names share one string-table entry. */
+    private static int intern(String s, Map<String, Integer> ids, List<byte[]> strings) {
+        Integer id = ids.get(s);
+        if (id != null) return id;
+        id = strings.size();
+        ids.put(s, id);
+        strings.add(s == null ? null : s.getBytes(StandardCharsets.UTF_8));
+        return id;
+    }
+
+    private static MappedByteBuffer map(FileChannel ch, long position, long size) throws IOException {
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return buf;
+    }
+
+    private static int drain(FileChannel out, ByteBuffer buf, long position) throws IOException {
+        buf.flip();
+        int written = buf.remaining();
+        while (buf.hasRemaining()) position += out.write(buf, position);
+        buf.clear();
+        return written;
+    }
+}
@@ -0,0 +1,289 @@
+package com.bookingmx.reservations.repo.journal;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary log on disk. Records are queued by callers and written by a single writer thread,
+ * which drains everything queued so far, writes it with one gathering write and fsyncs once for the
+ * whole group before completing the callers' futures.
+ * <p>
+ * Files are numbered by generation: {@code journal-N.log} holds writes made after {@code snapshot-N.bin}
+ * was cut (see {@link SnapshotFile}). Startup loads the newest snapshot, replays the later segments and
+ * opens a fresh segment.
+ * <p>
+ * A failed write leaves memory ahead of the disk, so the first one fails the journal for good: later
+ * appends are refused and {@link #isHealthy()} turns false until a restart replays what is on disk.
+ */
+public class WriteAheadLog implements ReservationJournal {
+    private static final int MAX_GROUP = 4096;
+    private static final long MAX_MAP_BYTES = 1L << 30;
+
+    private final Path dir;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, CompletableFuture<Void>> rotations = new ConcurrentHashMap<>();
+    private final AtomicLong generation;
+    private final Thread writer;
+    private FileChannel channel; // owned by the writer thread once started
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    public WriteAheadLog(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        long last = Math.max(latest("journal-", ".log"), latest("snapshot-", ".bin"));
+        this.generation = new AtomicLong(last + 1);
+        this.channel = openSegment(generation.get());
+        this.writer = new Thread(this::run, "reservation-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void replay(Consumer<Reservation> put, Runnable clear) {
+        long current = generation.get();
+        long snapshot = latest("snapshot-", ".bin");
+        try {
+            if (snapshot > 0) readSnapshot(snapshotPath(snapshot), put, clear);
+            for (long gen : generations("journal-", ".log")) {
+                if (gen >= snapshot && gen < current) readSegment(segmentPath(gen), put, clear);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay reservation journal in " + dir, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> append(Reservation r) {
+        return enqueue(new Entry(JournalCodec.encodePut(r), 0));
+    }
+
+    @Override
+    public CompletableFuture<Void> appendClear() {
+        return enqueue(new Entry(JournalCodec.encodeClear(), 0));
+    }
+
+    @Override
+    public long rotate() {
+        long next = generation.incrementAndGet();
+        rotations.put(next, enqueue(new Entry(null, next)));
+        return next;
+    }
+
+    @Override
+    public synchronized void checkpoint(long gen, Collection<Reservation> live) {
+        CompletableFuture<Void> rotation = rotations.remove(gen);
+        if (rotation != null) rotation.join();
+        Path tmp = dir.resolve("snapshot-" + gen + ".bin.tmp");
+        try {
+            SnapshotFile.write(tmp, live);
+            Files.move(tmp, snapshotPath(gen), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (long old : generations("journal-", ".log")) if (old < gen) Files.deleteIfExists(segmentPath(old));
+            for (long old : generations("snapshot-", ".bin")) if (old < gen) Files.deleteIfExists(snapshotPath(old));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write reservation snapshot " + gen, e);
+        }
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return failure == null;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        queue.add(Entry.STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Entry e) {
+        if (closed) throw new IllegalStateException("Reservation journal is closed");
+        if (failure != null) throw new UncheckedIOException("Reservation journal failed; restart to recover", failure);
+        queue.add(e);
+        return e.done;
+    }
+
+    private void run() {
+        List<Entry> group = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(group, MAX_GROUP - 1);
+            boolean stop = group.contains(Entry.STOP);
+            writeGroup(group);
+            group.clear();
+            if (stop) {
+                closeQuietly(channel);
+                // anything that raced past close() will never be written
+                queue.drainTo(group);
+                for (Entry e : group) e.done.completeExceptionally(new IllegalStateException("Reservation journal is closed"));
+                return;
+            }
+        }
+    }
+
+    /** Writes a drained group in order, switching segment at rotation markers, with one fsync per segment touched. */
+    private void writeGroup(List<Entry> group) {
+        if (failure != null) {
+            fail(group, failure); // what follows a failed write may land after a partial record
+            return;
+        }
+        try {
+            List<ByteBuffer> pending = new ArrayList<>(group.size());
+            for (Entry e : group) {
+                if (e.record != null) {
+                    pending.add(e.record);
+                } else if (e.rotateTo > 0) {
+                    flush(pending);
+                    closeQuietly(channel);
+                    channel = openSegment(e.rotateTo);
+                }
+            }
+            flush(pending);
+            for (Entry e : group) e.done.complete(null);
+        } catch (IOException ex) {
+            failure = ex;
+            fail(group, ex);
+        }
+    }
+
+    private static void fail(List<Entry> group, IOException cause) {
+        for (Entry e : group) e.done.completeExceptionally(new UncheckedIOException("Reservation journal write failed", cause));
+    }
+
+    private void flush(List<ByteBuffer> pending) throws IOException {
+        if (pending.isEmpty()) return;
+        ByteBuffer[] buffers = pending.toArray(ByteBuffer[]::new);
+        ByteBuffer last = buffers[buffers.length - 1];
+        while (last.hasRemaining()) channel.write(buffers);
+        channel.force(false);
+        pending.clear();
+    }
+
+    private void readSegment(Path path, Consumer<Reservation> put, Runnable clear) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long good = readMapped(ch, 0, put, clear);
+            if (good == ch.size()) return;
+            if (!tornTail(ch, good)) throw new IOException("Corrupt reservation journal record at offset " + good + " of " + path);
+            ch.truncate(good); // drop a torn tail left by a crash mid-write
+        }
+    }
+
+    /**
+     * A crash mid-write can only cut the end of the file, so a bad record is a torn tail if it runs to or past
+     * the end, or if only zeros follow it (space allocated but never filled). Anything else is damage inside
+     * the log, and truncating there would silently drop every later write.
+     */
+    private static boolean tornTail(FileChannel ch, long at) throws IOException {
+        long size = ch.size();
+        if (size - at < JournalCodec.HEADER_BYTES) return true;
+        ByteBuffer header = ByteBuffer.allocate(JournalCodec.HEADER_BYTES);
+        ch.read(header, at);
+        int length = header.getInt(0);
+        if (length > 0 && size - at - JournalCodec.HEADER_BYTES <= length) return true;
+        ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+        for (long pos = at; pos < size; pos += chunk.position()) {
+            chunk.clear();
+            if (ch.read(chunk, pos) < 0) break;
+            for (int i = 0; i < chunk.position(); i++) if (chunk.get(i) != 0) return false;
+        }
+        return true;
+    }
+
+    private void readSnapshot(Path path, Consumer<Reservation> put, Runnable clear) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            clear.run();
+            SnapshotFile.read(ch, put);
+        }
+    }
+
+    /** Decodes records from {@code start} through memory-mapped windows; returns the end of the last good record. */
+    private static long readMapped(FileChannel ch, long start, Consumer<Reservation> put, Runnable clear) throws IOException {
+        long size = ch.size();
+        long pos = start;
+        while (pos < size) {
+            long window = Math.min(size - pos, MAX_MAP_BYTES);
+            boolean lastWindow = pos + window == size;
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, pos, window);
+            int good = JournalCodec.readRecords(buf, put, clear);
+            pos += good;
+            // a record cut by the window edge is picked up by the next window; anywhere else it is damage
+            if (good == 0 || (lastWindow && good < window)) break;
+        }
+        return pos;
+    }
+
+    private FileChannel openSegment(long gen) throws IOException {
+        return FileChannel.open(segmentPath(gen), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long gen) {
+        return dir.resolve("journal-" + gen + ".log");
+    }
+
+    private Path snapshotPath(long gen) {
+        return dir.resolve("snapshot-" + gen + ".bin");
+    }
+
+    private long latest(String prefix, String suffix) {
+        List<Long> gens = generations(prefix, suffix);
+        return gens.isEmpty() ? 0 : gens.get(gens.size() - 1);
+    }
+
+    private List<Long> generations(String prefix, String suffix) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(prefix) && n.endsWith(suffix))
+                    .map(n -> n.substring(prefix.length(), n.length() - suffix.length()))
+                    .filter(n -> !n.isEmpty() && n.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel ch) {
+        try {
+            ch.close();
+        } catch (IOException ignored) {
+            // nothing left to flush; the last group was already forced
+        }
+    }
+
+    private static final class Entry {
+        static final Entry STOP = new Entry(null, 0);
+
+        final ByteBuffer record;
+        final long rotateTo;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Entry(ByteBuffer record, long rotateTo) {
+            this.record = record;
+            this.rotateTo = rotateTo;
+        }
+    }
+}
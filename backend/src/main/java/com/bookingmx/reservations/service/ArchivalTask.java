@@ -0,0 +1,27 @@
+package com.bookingmx.reservations.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically moves canceled and long checked-out reservations out of the hot set.
+ */
+@Component
+@ConditionalOnProperty(name = "bookingmx.archive.enabled", havingValue = "true")
+public class ArchivalTask {
+    private final ReservationService service;
+    private final int retainDays;
+
+    public ArchivalTask(ReservationService service, @Value("${bookingmx.archive.retain-days}") int retainDays) {
+        this.service = service;
+        this.retainDays = retainDays;
+    }
+
+    @Scheduled(fixedDelayString = "${bookingmx.archive.interval}",
+            initialDelayString = "${bookingmx.archive.interval}")
+    public void archive() {
+        service.archive(retainDays);
+    }
+}
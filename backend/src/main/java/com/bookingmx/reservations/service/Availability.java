@@ -0,0 +1,26 @@
+package com.bookingmx.reservations.service;
+
+import java.time.LocalDate;
+
+/**
+ * Rooms booked in a hotel on each night from {@code from} on, next to its room count ({@code null} for
+ * hotels without one).
+ */
+public class Availability {
+    private final String hotelName;
+    private final Integer rooms;
+    private final LocalDate from;
+    private final int[] booked;
+
+    Availability(String hotelName, Integer rooms, LocalDate from, int[] booked) {
+        this.hotelName = hotelName;
+        this.rooms = rooms;
+        this.from = from;
+        this.booked = booked;
+    }
+
+    public String getHotelName() { return hotelName; }
+    public Integer getRooms() { return rooms; }
+    public LocalDate getFrom() { return from; }
+    public int[] getBooked() { return booked; }
+}
@@ -0,0 +1,33 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Reservation;
+
+/**
+ * Result of one batch item: the stored reservation, or the reason it was rejected.
+ */
+public class BatchOutcome {
+    private final int index;
+    private final int status;
+    private final Reservation reservation;
+    private final String error;
+
+    private BatchOutcome(int index, int status, Reservation reservation, String error) {
+        this.index = index;
+        this.status = status;
+        this.reservation = reservation;
+        this.error = error;
+    }
+
+    static BatchOutcome applied(int index, int status, Reservation reservation) {
+        return new BatchOutcome(index, status, reservation, null);
+    }
+
+    static BatchOutcome rejected(int index, int status, String error) {
+        return new BatchOutcome(index, status, null, error);
+    }
+
+    public int getIndex() { return index; }
+    public int getStatus() { return status; }
+    public Reservation getReservation() { return reservation; }
+    public String getError() { return error; }
+}
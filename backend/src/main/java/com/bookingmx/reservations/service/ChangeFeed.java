@@ -0,0 +1,25 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.util.List;
+
+/**
+ * Reservations changed since a client's cursor, or all of them when the cursor cannot be resumed
+ * ({@code full}). {@code sequence} is the cursor to send next time.
+ */
+public class ChangeFeed {
+    private final long sequence;
+    private final boolean full;
+    private final List<Reservation> reservations;
+
+    ChangeFeed(long sequence, boolean full, List<Reservation> reservations) {
+        this.sequence = sequence;
+        this.full = full;
+        this.reservations = reservations;
+    }
+
+    public long getSequence() { return sequence; }
+    public boolean isFull() { return full; }
+    public List<Reservation> getReservations() { return reservations; }
+}
@@ -0,0 +1,65 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free ring of recent reservation changes for many independent readers.
+ * Writers claim a sequence with one atomic increment and publish into its slot; readers keep their own
+ * cursor and never block writers. A reader that falls more than {@code capacity} changes behind finds its
+ * slot overwritten ({@link #isOverrun}) and has to resync.
+ */
+public final class ChangeRing {
+
+    /** A published change; {@code sequence} tells a reader whether the slot still holds the change it wants. */
+    public static final class Slot {
+        private final long sequence;
+        private final Reservation reservation;
+
+        Slot(long sequence, Reservation reservation) {
+            this.sequence = sequence;
+            this.reservation = reservation;
+        }
+
+        public long getSequence() { return sequence; }
+        public Reservation getReservation() { return reservation; }
+    }
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    public ChangeRing(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public long publish(Reservation r) {
+        long sequence = next.getAndIncrement();
+        slots.set((int) sequence & mask, new Slot(sequence, r));
+        return sequence;
+    }
+
+    /** The next sequence to be claimed; a reader whose cursor equals it is caught up. */
+    public long head() {
+        return next.get();
+    }
+
+    /** The change at {@code sequence}, or null if it is not published yet (or already overwritten, see {@link #isOverrun}). */
+    public Slot read(long sequence) {
+        Slot slot = slots.get((int) sequence & mask);
+        return slot != null && slot.sequence == sequence ? slot : null;
+    }
+
+    /** True once writers have lapped {@code sequence}, so it can no longer be read. */
+    public boolean isOverrun(long sequence) {
+        return next.get() - sequence > slots.length();
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,79 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.dto.NearbyCityResponse;
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.exception.NotFoundException;
+import com.bookingmx.reservations.graph.CityGraph;
+import com.bookingmx.reservations.graph.RoadNetwork;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nearby cities by shortest road distance over the network in {@code bookingmx.cities.data}.
+ * <p>
+ * A search for {@code maxKm} runs to the next multiple of {@code bookingmx.cities.band-km} and is cached
+ * per (city, band), so nearby radii share one search and each answer is a prefix of the cached one. Radii
+ * above {@code bookingmx.cities.max-km} are rejected.
+ */
+@Service
+public class CityService {
+    private final CityGraph graph;
+    private final double bandKm;
+    private final double maxKm;
+    private final Cache<Band, CityGraph.Reach> reaches;
+
+    private record Band(int city, long band) { }
+
+    @Autowired
+    public CityService(ObjectMapper objectMapper,
+                       @Value("${bookingmx.cities.data}") Resource data,
+                       @Value("${bookingmx.cities.band-km}") double bandKm,
+                       @Value("${bookingmx.cities.max-km}") double maxKm,
+                       @Value("${bookingmx.cities.cache.max-entries}") long maxEntries) throws IOException {
+        this(load(objectMapper, data), bandKm, maxKm, maxEntries);
+    }
+
+    public CityService(CityGraph graph, double bandKm, double maxKm, long maxEntries) {
+        if (!(bandKm > 0)) throw new IllegalArgumentException("bookingmx.cities.band-km must be positive");
+        if (!(maxKm >= 0) || Double.isInfinite(maxKm)) throw new IllegalArgumentException("bookingmx.cities.max-km must be a non-negative number");
+        this.graph = graph;
+        this.bandKm = bandKm;
+        this.maxKm = maxKm;
+        this.reaches = Caffeine.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    private static CityGraph load(ObjectMapper objectMapper, Resource data) throws IOException {
+        try (InputStream in = data.getInputStream()) {
+            RoadNetwork network = objectMapper.readValue(in, RoadNetwork.class);
+            return CityGraph.build(network.getCities(), network.getEdges());
+        }
+    }
+
+    public boolean knows(String name) {
+        return graph.id(name) >= 0;
+    }
+
+    /** Cities within {@code maxKm} of {@code name} over one or more roads, nearest first. */
+    public List<NearbyCityResponse> nearby(String name, double maxKm) {
+        if (!(maxKm >= 0) || Double.isInfinite(maxKm)) throw new BadRequestException("maxKm must be a non-negative number");
+        if (maxKm > this.maxKm) throw new BadRequestException("maxKm must be at most " + this.maxKm);
+        int city = graph.id(name);
+        if (city < 0) throw new NotFoundException("City not found");
+        long band = (long) Math.ceil(maxKm / bandKm);
+        CityGraph.Reach reach = reaches.get(new Band(city, band), key -> graph.nearby(city, band * bandKm));
+        int n = reach.within(maxKm);
+        List<NearbyCityResponse> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) result.add(new NearbyCityResponse(graph.name(reach.city(i)), reach.km(i)));
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Date rules a reservation can break, each with its message, its failure counter and one shared,
+ * stackless exception, so rejecting a request allocates nothing.
+ */
+public enum DateViolation {
+    MISSING("missing", "Dates cannot be null"),
+    OUT_OF_RANGE("out_of_range", "Dates must be between 0001-01-01 and 9999-12-31"),
+    CHECK_IN_PAST("check_in_past", "Check-in must be in the future"),
+    CHECK_OUT_PAST("check_out_past", "Check-out must be in the future"),
+    CHECK_OUT_NOT_AFTER_CHECK_IN("check_out_not_after_check_in", "Check-out must be after check-in"),
+    STAY_TOO_LONG("stay_too_long", "Stay cannot exceed " + ReservationService.MAX_STAY_NIGHTS + " nights");
+
+    private final String message;
+    private final Counter failures;
+    private final BadRequestException exception;
+
+    DateViolation(String reason, String message) {
+        this.message = message;
+        // the global registry forwards to the application's registry once Spring Boot adds it
+        this.failures = Metrics.counter(ReservationService.VALIDATION_FAILURES, "reason", reason);
+        this.exception = new BadRequestException(message);
+    }
+
+    public String getMessage() { return message; }
+
+    BadRequestException exception() {
+        failures.increment();
+        return exception;
+    }
+
+    String countedMessage() {
+        failures.increment();
+        return message;
+    }
+}
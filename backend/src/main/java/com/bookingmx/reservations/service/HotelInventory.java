@@ -0,0 +1,76 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.model.Hotel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Room counts per hotel, seeded from {@code bookingmx.inventory.rooms} ({@code Name:rooms[@City],...}) and
+ * changed at runtime through {@link #register}. The nightly counts they are checked against are kept by
+ * the repository. Hotels placed in a city are also indexed by it for destination searches.
+ */
+@Component
+public class HotelInventory {
+    private final Map<String, Hotel> hotels = new ConcurrentHashMap<>();
+    private volatile List<Hotel> byName = List.of(); // rebuilt on register, read by every search
+    private volatile Map<String, List<Hotel>> byCity = Map.of(); // same, hotels without a city left out
+
+    public HotelInventory(@Value("${bookingmx.inventory.rooms:}") String rooms) {
+        for (String entry : rooms.split(",")) {
+            if (entry.isBlank()) continue;
+            int at = entry.lastIndexOf('@');
+            String head = at < 0 ? entry : entry.substring(0, at);
+            int colon = head.lastIndexOf(':');
+            if (colon < 0) throw new IllegalArgumentException("Expected Name:rooms[@City] in bookingmx.inventory.rooms, got '" + entry + "'");
+            put(head.substring(0, colon).trim(), Integer.parseInt(head.substring(colon + 1).trim()),
+                    at < 0 ? null : entry.substring(at + 1).trim());
+        }
+        reindex();
+    }
+
+    /** Sets the room count, effective for the next booking. Lowering it does not cancel anything already booked. */
+    public Hotel register(String name, int rooms) {
+        return register(name, rooms, null);
+    }
+
+    /** As {@link #register(String, int)}, also placing the hotel in {@code city} (or nowhere, if null). */
+    public synchronized Hotel register(String name, int rooms, String city) {
+        Hotel hotel = put(name, rooms, city);
+        reindex();
+        return hotel;
+    }
+
+    public Optional<Hotel> find(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(hotels.get(name));
+    }
+
+    /** Every registered hotel, by name. */
+    public List<Hotel> list() {
+        return byName;
+    }
+
+    /** The hotels placed in {@code city}, by name. */
+    public List<Hotel> inCity(String city) {
+        return byCity.getOrDefault(city, List.of());
+    }
+
+    private Hotel put(String name, int rooms, String city) {
+        if (rooms < 0) throw new BadRequestException("Rooms cannot be negative");
+        Hotel hotel = new Hotel(name, rooms, city);
+        hotels.put(name, hotel);
+        return hotel;
+    }
+
+    private void reindex() {
+        byName = hotels.values().stream().sorted(Comparator.comparing(Hotel::getName)).toList();
+        byCity = byName.stream().filter(h -> h.getCity() != null).collect(Collectors.groupingBy(Hotel::getCity));
+    }
+}
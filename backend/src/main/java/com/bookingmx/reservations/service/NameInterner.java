@@ -0,0 +1,66 @@
+package com.bookingmx.reservations.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizes hotel and guest names so equal names held by stored reservations share one
+ * {@code String} instead of one copy per request. Bounded: once {@code maxEntries} distinct names
+ * are known, new names are passed through uncanonicalized rather than evicting existing ones.
+ */
+@Component
+public class NameInterner {
+    // String object (24) + byte[] header (16), before the Latin-1 payload, on a 64-bit JVM with compressed oops
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    public NameInterner(@Value("${bookingmx.names.max-entries}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public String intern(String name) {
+        if (name == null) return null;
+        String canonical = names.get(name);
+        if (canonical == null) {
+            if (names.size() >= maxEntries) {
+                overflow.increment();
+                return name;
+            }
+            canonical = names.putIfAbsent(name, name);
+            if (canonical == null) return name;
+        }
+        if (canonical != name) {
+            hits.increment();
+            savedBytes.add(retainedBytes(name));
+        }
+        return canonical;
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", names.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.sum());
+        stats.put("overflow", overflow.sum());
+        stats.put("savedBytes", savedBytes.sum());
+        return stats;
+    }
+
+    private static long retainedBytes(String s) {
+        return (STRING_OVERHEAD_BYTES + s.length() + 7) & ~7L;
+    }
+}
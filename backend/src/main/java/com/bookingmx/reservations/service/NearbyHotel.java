@@ -0,0 +1,21 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Hotel;
+
+/** A hotel found around a destination: its road distance and the rooms taken on its busiest searched night. */
+public class NearbyHotel {
+    private final Hotel hotel;
+    private final double distance;
+    private final int booked;
+
+    NearbyHotel(Hotel hotel, double distance, int booked) {
+        this.hotel = hotel;
+        this.distance = distance;
+        this.booked = booked;
+    }
+
+    public Hotel getHotel() { return hotel; }
+    public double getDistance() { return distance; }
+    public int getBooked() { return booked; }
+    public int getFree() { return Math.max(0, hotel.getRooms() - booked); }
+}
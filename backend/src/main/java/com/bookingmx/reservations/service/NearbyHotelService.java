@@ -0,0 +1,54 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.dto.NearbyCityResponse;
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.model.Hotel;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hotels around a destination: the cities within reach come from {@link CityService}'s cached distance
+ * bands, their hotels from {@link HotelInventory}'s per-city index, and each hotel's load from the
+ * repository's nightly counters. Nothing here scans reservations.
+ */
+@Service
+public class NearbyHotelService {
+    private final CityService cities;
+    private final HotelInventory inventory;
+    private final ReservationRepository repo;
+
+    public NearbyHotelService(CityService cities, HotelInventory inventory, ReservationRepository repo) {
+        this.cities = cities;
+        this.inventory = inventory;
+        this.repo = repo;
+    }
+
+    /** Registers the hotel's rooms and places it in {@code city}, which must be on the road network when given. */
+    public Hotel register(String name, int rooms, String city) {
+        if (city != null && !cities.knows(city)) throw new BadRequestException("Unknown city: " + city);
+        return inventory.register(name, rooms, city);
+    }
+
+    /**
+     * Hotels in {@code destination} and in every city within {@code maxKm} of it, nearest first (by name
+     * within a city), with the rooms booked on the busiest night of {@code [from, to)}.
+     */
+    public List<NearbyHotel> near(String destination, double maxKm, LocalDate from, LocalDate to) {
+        ReservationService.checkRange(from, to);
+        List<NearbyCityResponse> reached = cities.nearby(destination, maxKm);
+        List<NearbyHotel> result = new ArrayList<>();
+        collect(destination, 0, from, to, result);
+        for (NearbyCityResponse city : reached) collect(city.getCity(), city.getDistance(), from, to, result);
+        return result;
+    }
+
+    private void collect(String city, double distance, LocalDate from, LocalDate to, List<NearbyHotel> into) {
+        for (Hotel hotel : inventory.inCity(city)) {
+            into.add(new NearbyHotel(hotel, distance, repo.peakBooked(hotel.getName(), from, to)));
+        }
+    }
+}
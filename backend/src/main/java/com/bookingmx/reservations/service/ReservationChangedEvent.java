@@ -0,0 +1,20 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Reservation;
+
+/**
+ * Published after a reservation is stored. {@code previous} is the state it replaced
+ * ({@code null} for a new reservation), so listeners can tell which hotel and guest it used to belong to.
+ */
+public class ReservationChangedEvent {
+    private final Reservation previous;
+    private final Reservation current;
+
+    public ReservationChangedEvent(Reservation previous, Reservation current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public Reservation getPrevious() { return previous; }
+    public Reservation getCurrent() { return current; }
+}
@@ -1,31 +1,164 @@
 package com.bookingmx.reservations.service;
 
+import com.bookingmx.reservations.dto.BatchItemRequest;
 import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.model.Hotel;
 import com.bookingmx.reservations.model.Reservation;
 import com.bookingmx.reservations.model.ReservationStatus;
 import com.bookingmx.reservations.repo.ReservationRepository;
 import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.exception.ConflictException;
 import com.bookingmx.reservations.exception.NotFoundException;
+import com.bookingmx.reservations.exception.PreconditionFailedException;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "bookingmx.service", histogram = true, percentiles = {0.5, 0.99})
 public class ReservationService {
+    public static final String VALIDATION_FAILURES = "bookingmx.validation.failures";
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    public static final int MAX_AVAILABILITY_NIGHTS = 731;
+    // a whole stay fits in one availability query
+    public static final int MAX_STAY_NIGHTS = MAX_AVAILABILITY_NIGHTS;
+    // dates are stored as int epoch days, packed into 23 bits by the check-in index; four-digit years fit both
+    public static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    public static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final String ARCHIVED = "Reservation is archived and can no longer be changed";
+    // below this many hotels a search is cheaper than the fork/join handoff
+    private static final int PARALLEL_SEARCH_HOTELS = 2048;
+
     private final ReservationRepository repo;
+    private final Validator validator;
+    private final NameInterner names;
+    private final HotelInventory inventory;
+    private final ApplicationEventPublisher events;
+    private final Today today = new Today(Clock.systemDefaultZone());
+
+    public ReservationService(ReservationRepository repo, Validator validator, NameInterner names) {
+        this(repo, validator, names, new HotelInventory(""));
+    }
 
-    public ReservationService(ReservationRepository repo) {
+    public ReservationService(ReservationRepository repo, Validator validator, NameInterner names, HotelInventory inventory) {
+        this(repo, validator, names, inventory, event -> { });
+    }
+
+    /**
+     * Bookings in hotels registered with {@code inventory} are refused once a night is full.
+     * Every stored change is published as a {@link ReservationChangedEvent}.
+     */
+    @Autowired
+    public ReservationService(ReservationRepository repo, Validator validator, NameInterner names, HotelInventory inventory,
+                              ApplicationEventPublisher events) {
         this.repo = repo;
+        this.validator = validator;
+        this.names = names;
+        this.inventory = inventory;
+        this.events = events;
     }
 
     public List<Reservation> list() {
         return repo.findAll();
     }
 
+    public List<Reservation> list(String hotelName, String guestName) {
+        if (hotelName != null && guestName != null) return repo.findByHotelAndGuest(hotelName, guestName);
+        if (hotelName != null) return repo.findByHotel(hotelName);
+        if (guestName != null) return repo.findByGuest(guestName);
+        return repo.findAll();
+    }
+
+    public List<Reservation> page(String hotelName, String guestName, Long after, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (size < 1 || size > MAX_PAGE_SIZE) throw new BadRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        return repo.findPage(hotelName, guestName, after, size);
+    }
+
+    public Stream<Reservation> stream(String hotelName, String guestName, Long after) {
+        return repo.streamOrdered(hotelName, guestName, after);
+    }
+
+    /**
+     * Reservations created, updated or canceled after {@code since}; everything, flagged as a full resync,
+     * when {@code since} is missing or the repository no longer has the history behind it.
+     */
+    public ChangeFeed changes(Long since) {
+        long upTo = repo.changeSequence();
+        if (since != null) {
+            Optional<List<Reservation>> delta = repo.changesSince(since, upTo);
+            if (delta.isPresent()) return new ChangeFeed(upTo, false, delta.get());
+        }
+        return new ChangeFeed(upTo, true, repo.findAll());
+    }
+
+    public long changeSequence() {
+        return repo.changeSequence();
+    }
+
+    public long lastModified() {
+        return repo.lastModified();
+    }
+
+    public List<Reservation> findOverlapping(String hotelName, LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new BadRequestException("Dates cannot be null");
+        if (!to.isAfter(from)) throw new BadRequestException("'to' must be after 'from'");
+        checkBounds(from, to);
+        return repo.findOverlapping(hotelName, from, to);
+    }
+
+    /** ACTIVE reservations arriving on {@code [from, to)}, by day. */
+    public List<Reservation> arrivals(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        repo.sealMonthsBefore(YearMonth.from(today.get()));
+        return repo.findArrivals(from, to);
+    }
+
+    /** ACTIVE reservations checking out on {@code [from, to)}, by day. */
+    public List<Reservation> departures(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        repo.sealMonthsBefore(YearMonth.from(today.get()));
+        return repo.findDepartures(from, to);
+    }
+
+    /** Booked rooms per night of {@code [from, to)}, read from the repository's nightly counters. */
+    public Availability availability(String hotelName, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        Integer rooms = inventory.find(hotelName).map(Hotel::getRooms).orElse(null);
+        return new Availability(hotelName, rooms, from, repo.nightsBooked(hotelName, from, to));
+    }
+
+    /**
+     * Hotels with a room count that have at least {@code minRooms} free on every night of {@code [from, to)},
+     * by name. Each hotel costs one O(log days) range-max over its nightly counters.
+     */
+    public List<Vacancy> findAvailable(LocalDate from, LocalDate to, int minRooms) {
+        checkRange(from, to);
+        if (minRooms < 1) throw new BadRequestException("minRooms must be at least 1");
+        List<Hotel> hotels = inventory.list();
+        Stream<Hotel> candidates = hotels.size() >= PARALLEL_SEARCH_HOTELS ? hotels.parallelStream() : hotels.stream();
+        return candidates
+                .filter(h -> h.getRooms() >= minRooms)
+                .map(h -> new Vacancy(h, h.getRooms() - repo.peakBooked(h.getName(), from, to)))
+                .filter(v -> v.getFree() >= minRooms)
+                .toList();
+    }
+
     public Optional<Reservation> getById(Long id) {
         return repo.findById(id);
     }
@@ -33,31 +166,267 @@ public class ReservationService {
 
     public Reservation create(ReservationRequest req) {
         validateDates(req.getCheckIn(), req.getCheckOut());
-        Reservation r = new Reservation(null, req.getGuestName(), req.getHotelName(), req.getCheckIn(), req.getCheckOut());
-        return repo.save(r);
+        Reservation r = newReservation(null, req);
+        return changed(null, repo.withHotels(List.of(r.getHotelName()), () -> {
+            checkCapacity(null, r);
+            return repo.save(r);
+        }));
     }
 
     public Reservation update(Long id, ReservationRequest req) {
-        Reservation existing = repo.findById(id).orElseThrow(() -> new NotFoundException("Reservation not found"));
-        if (!existing.isActive()) throw new BadRequestException("Cannot update a canceled reservation");
-        validateDates(req.getCheckIn(), req.getCheckOut());
-        existing.setGuestName(req.getGuestName());
-        existing.setHotelName(req.getHotelName());
-        existing.setCheckIn(req.getCheckIn());
-        existing.setCheckOut(req.getCheckOut());
-        return repo.save(existing);
+        return update(id, req, null);
+    }
+
+    /**
+     * Replaces the reservation's details in one atomic step against its current state, holding the locks
+     * of both the hotel it leaves and the one it moves to.
+     * With {@code expectedVersion} set, refuses the change if the reservation has moved past it.
+     */
+    public Reservation update(Long id, ReservationRequest req, Long expectedVersion) {
+        Reservation[] previous = new Reservation[1];
+        Reservation updated = lockedUpdate(id, names.intern(req.getHotelName()), existing -> {
+            checkVersion(existing, expectedVersion);
+            if (!existing.isActive()) throw new BadRequestException("Cannot update a canceled reservation");
+            validateDates(req.getCheckIn(), req.getCheckOut());
+            Reservation next = newReservation(existing.getId(), req);
+            checkCapacity(existing, next);
+            previous[0] = existing;
+            return next;
+        }).orElseThrow(() -> missing(id));
+        return changed(previous[0], updated);
     }
 
     public Reservation cancel(Long id) {
-        Reservation existing = repo.findById(id).orElseThrow(() -> new NotFoundException("Reservation not found"));
-        existing.setStatus(ReservationStatus.CANCELED);
-        return repo.save(existing);
+        return cancel(id, null);
+    }
+
+    public Reservation cancel(Long id, Long expectedVersion) {
+        Reservation[] previous = new Reservation[1];
+        Reservation canceled = lockedUpdate(id, null, existing -> {
+            checkVersion(existing, expectedVersion);
+            previous[0] = existing;
+            return existing.withStatus(ReservationStatus.CANCELED);
+        }).orElseThrow(() -> missing(id));
+        return changed(previous[0], canceled);
+    }
+
+    /**
+     * Archives canceled reservations and those checked out more than {@code retainDays} ago, then publishes
+     * a {@link ReservationsArchivedEvent} for them. Returns how many were moved.
+     */
+    public int archive(int retainDays) {
+        List<Reservation> moved = repo.archive(today.get().minusDays(retainDays));
+        if (!moved.isEmpty()) events.publishEvent(new ReservationsArchivedEvent(moved));
+        return moved.size();
+    }
+
+    /**
+     * Validates every item in a single pass, then stores all accepted ones with one bulk save.
+     * Items are independent: a rejected item does not stop the rest of the batch.
+     * Later items see the effect of earlier ones on the same id, and on the rooms left in their hotels.
+     */
+    public List<BatchOutcome> applyBatch(List<BatchItemRequest> items) {
+        if (items.size() > MAX_BATCH_SIZE) throw new BadRequestException("Batch cannot exceed " + MAX_BATCH_SIZE + " items");
+        List<BatchOutcome> outcomes = new ArrayList<>(items.size());
+        List<Reservation> accepted = new ArrayList<>();
+        List<Reservation> replaced = new ArrayList<>();
+        List<Integer> acceptedAt = new ArrayList<>();
+        Map<Long, Reservation> pending = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchItemRequest item = items.get(i);
+            if (item == null) {
+                outcomes.add(BatchOutcome.rejected(i, 400, "Batch item is required"));
+                continue;
+            }
+            BatchItemRequest.Op op = item.getOp() == null ? BatchItemRequest.Op.CREATE : item.getOp();
+            if (op != BatchItemRequest.Op.CANCEL) {
+                String error = validationError(item);
+                if (error != null) {
+                    outcomes.add(BatchOutcome.rejected(i, 400, error));
+                    continue;
+                }
+            }
+            if (op == BatchItemRequest.Op.CREATE) {
+                Reservation r = newReservation(null, item);
+                accepted.add(r);
+                replaced.add(null);
+                acceptedAt.add(outcomes.size());
+                outcomes.add(BatchOutcome.applied(i, 201, r));
+                continue;
+            }
+            if (item.getId() == null) {
+                outcomes.add(BatchOutcome.rejected(i, 400, "Reservation id is required"));
+                continue;
+            }
+            Reservation existing = pending.containsKey(item.getId()) ? pending.get(item.getId()) : repo.findById(item.getId()).orElse(null);
+            if (existing == null) {
+                outcomes.add(BatchOutcome.rejected(i, 404, "Reservation not found"));
+                continue;
+            }
+            if (!pending.containsKey(item.getId()) && repo.isArchived(item.getId())) {
+                outcomes.add(BatchOutcome.rejected(i, 409, ARCHIVED));
+                continue;
+            }
+            Reservation next;
+            if (op == BatchItemRequest.Op.UPDATE) {
+                if (!existing.isActive()) {
+                    outcomes.add(BatchOutcome.rejected(i, 400, "Cannot update a canceled reservation"));
+                    continue;
+                }
+                next = newReservation(existing.getId(), item).withVersion(existing.getVersion());
+            } else {
+                next = existing.withStatus(ReservationStatus.CANCELED);
+            }
+            // the version this item will have once stored, so a later item on the same id builds on it
+            pending.put(next.getId(), next.withVersion(next.getVersion() + 1));
+            accepted.add(next);
+            replaced.add(existing);
+            acceptedAt.add(outcomes.size());
+            outcomes.add(BatchOutcome.applied(i, 200, next));
+        }
+        Set<String> hotels = new HashSet<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            hotels.add(accepted.get(k).getHotelName());
+            if (replaced.get(k) != null) hotels.add(replaced.get(k).getHotelName());
+        }
+        String[] full = new String[accepted.size()];
+        List<Reservation> stored = repo.withHotels(hotels, () -> {
+            Map<String, Map<Long, Integer>> pendingNights = new HashMap<>();
+            List<Reservation> admitted = new ArrayList<>(accepted.size());
+            for (int k = 0; k < accepted.size(); k++) {
+                full[k] = capacityError(replaced.get(k), accepted.get(k), pendingNights);
+                if (full[k] != null) continue;
+                book(pendingNights, replaced.get(k), -1);
+                book(pendingNights, accepted.get(k), 1);
+                admitted.add(accepted.get(k));
+            }
+            return repo.saveAll(admitted);
+        });
+        for (int k = 0, s = 0; k < accepted.size(); k++) {
+            int at = acceptedAt.get(k);
+            BatchOutcome outcome = outcomes.get(at);
+            if (full[k] != null) {
+                outcomes.set(at, BatchOutcome.rejected(outcome.getIndex(), 409, full[k]));
+                continue;
+            }
+            Reservation r = stored.get(s++);
+            if (r != null) changed(replaced.get(k), r);
+            outcomes.set(at, r == null
+                    ? BatchOutcome.rejected(outcome.getIndex(), 409, "Reservation was modified concurrently")
+                    : BatchOutcome.applied(outcome.getIndex(), outcome.getStatus(), r));
+        }
+        return outcomes;
+    }
+
+    /** {@code repo.update} holding the locks of the reservation's current hotel and of {@code target}, if given. */
+    private Optional<Reservation> lockedUpdate(Long id, String target, UnaryOperator<Reservation> transition) {
+        while (true) {
+            Optional<Reservation> current = repo.findById(id);
+            if (current.isEmpty()) return current;
+            String from = current.get().getHotelName();
+            Optional<Reservation> result = repo.withHotels(target == null ? List.of(from) : List.of(from, target), () ->
+                    // moving a reservation takes its old hotel's lock, so once held the hotel can only have changed before
+                    repo.findById(id).map(Reservation::getHotelName).filter(from::equals).isPresent()
+                            ? repo.update(id, transition) : null);
+            if (result != null) return result;
+        }
+    }
+
+    /** Must run holding the lock of {@code next}'s hotel, so no other booking can take the room in between. */
+    private void checkCapacity(Reservation previous, Reservation next) {
+        String error = capacityError(previous, next, Map.of());
+        if (error != null) throw new ConflictException(error);
+    }
+
+    /**
+     * Why {@code next} would overbook its hotel, or null: for each of its nights, the rooms already booked,
+     * less {@code previous} (the version it replaces), plus {@code pendingNights} (hotel -> epoch day ->
+     * rooms taken by earlier items of the same batch) must leave one free.
+     */
+    private String capacityError(Reservation previous, Reservation next, Map<String, Map<Long, Integer>> pendingNights) {
+        Hotel hotel = next.isActive() ? inventory.find(next.getHotelName()).orElse(null) : null;
+        if (hotel == null) return null;
+        long first = next.getCheckIn().toEpochDay();
+        int[] booked = repo.nightsBooked(hotel.getName(), next.getCheckIn(), next.getCheckOut());
+        boolean replacing = previous != null && previous.isActive() && hotel.getName().equals(previous.getHotelName());
+        Map<Long, Integer> pending = pendingNights.getOrDefault(hotel.getName(), Map.of());
+        for (int n = 0; n < booked.length; n++) {
+            long day = first + n;
+            int taken = booked[n] + pending.getOrDefault(day, 0);
+            if (replacing && day >= previous.getCheckIn().toEpochDay() && day < previous.getCheckOut().toEpochDay()) taken--;
+            if (taken >= hotel.getRooms()) return "No rooms available at " + hotel.getName() + " on " + LocalDate.ofEpochDay(day);
+        }
+        return null;
+    }
+
+    private void book(Map<String, Map<Long, Integer>> pendingNights, Reservation r, int rooms) {
+        if (r == null || !r.isActive() || inventory.find(r.getHotelName()).isEmpty()) return;
+        Map<Long, Integer> nights = pendingNights.computeIfAbsent(r.getHotelName(), k -> new HashMap<>());
+        for (long day = r.getCheckIn().toEpochDay(); day < r.getCheckOut().toEpochDay(); day++) nights.merge(day, rooms, Integer::sum);
+    }
+
+    private RuntimeException missing(Long id) {
+        return repo.isArchived(id) ? new ConflictException(ARCHIVED) : new NotFoundException("Reservation not found");
+    }
+
+    private Reservation changed(Reservation previous, Reservation current) {
+        events.publishEvent(new ReservationChangedEvent(previous, current));
+        return current;
+    }
+
+    private Reservation newReservation(Long id, ReservationRequest req) {
+        return new Reservation(id, names.intern(req.getGuestName()), names.intern(req.getHotelName()), req.getCheckIn(), req.getCheckOut());
+    }
+
+    static void checkRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new BadRequestException("Dates cannot be null");
+        if (!to.isAfter(from)) throw new BadRequestException("'to' must be after 'from'");
+        checkBounds(from, to);
+        if (to.toEpochDay() - from.toEpochDay() > MAX_AVAILABILITY_NIGHTS) {
+            throw new BadRequestException("Range cannot exceed " + MAX_AVAILABILITY_NIGHTS + " nights");
+        }
+    }
+
+    private static void checkBounds(LocalDate from, LocalDate to) {
+        if (outOfRange(from) || outOfRange(to)) throw new BadRequestException(DateViolation.OUT_OF_RANGE.getMessage());
+    }
+
+    private static boolean outOfRange(LocalDate date) {
+        return date.isBefore(MIN_DATE) || date.isAfter(MAX_DATE);
+    }
+
+    private static void checkVersion(Reservation existing, Long expectedVersion) {
+        if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("Reservation has been modified (current version " + existing.getVersion() + ")");
+        }
+    }
+
+    /** The first date rule {@code [in, out)} breaks, or null if it is a valid stay starting today or later. */
+    public DateViolation checkDates(LocalDate in, LocalDate out) {
+        if (in == null || out == null) return DateViolation.MISSING;
+        if (outOfRange(in) || outOfRange(out)) return DateViolation.OUT_OF_RANGE;
+        LocalDate now = today.get();
+        if (in.isBefore(now)) return DateViolation.CHECK_IN_PAST;
+        if (out.isBefore(now)) return DateViolation.CHECK_OUT_PAST;
+        if (!out.isAfter(in)) return DateViolation.CHECK_OUT_NOT_AFTER_CHECK_IN;
+        if (out.toEpochDay() - in.toEpochDay() > MAX_STAY_NIGHTS) return DateViolation.STAY_TOO_LONG;
+        return null;
+    }
+
+    private String validationError(ReservationRequest req) {
+        Set<ConstraintViolation<ReservationRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        DateViolation violation = checkDates(req.getCheckIn(), req.getCheckOut());
+        return violation == null ? null : violation.countedMessage();
     }
 
     private void validateDates(LocalDate in, LocalDate out) {
-        if (in == null || out == null) throw new BadRequestException("Dates cannot be null");
-        if (in.isBefore(LocalDate.now())) throw new BadRequestException("Check-in must be in the future");
-        if (out.isBefore(LocalDate.now())) throw new BadRequestException("Check-out must be in the future");
-        if (!out.isAfter(in)) throw new BadRequestException("Check-out must be after check-in");
+        DateViolation violation = checkDates(in, out);
+        if (violation != null) throw violation.exception();
     }
 }
@@ -0,0 +1,19 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Reservation;
+
+import java.util.List;
+
+/**
+ * Published after reservations were moved to the archive. They did not change and can still be read by
+ * id, but they no longer appear in any list.
+ */
+public class ReservationsArchivedEvent {
+    private final List<Reservation> archived;
+
+    public ReservationsArchivedEvent(List<Reservation> archived) {
+        this.archived = archived;
+    }
+
+    public List<Reservation> getArchived() { return archived; }
+}
@@ -0,0 +1,41 @@
+package com.bookingmx.reservations.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * The current date, recomputed only when the clock passes midnight. Checking costs one
+ * {@link Clock#millis()} read instead of a {@link LocalDate#now()} per call.
+ */
+public final class Today {
+
+    private static final class Day {
+        final LocalDate date;
+        final long endMillis;
+
+        Day(LocalDate date, long endMillis) {
+            this.date = date;
+            this.endMillis = endMillis;
+        }
+    }
+
+    private final Clock clock;
+    private volatile Day day;
+
+    public Today(Clock clock) {
+        this.clock = clock;
+        this.day = compute();
+    }
+
+    public LocalDate get() {
+        Day d = day;
+        if (clock.millis() >= d.endMillis) day = d = compute();
+        return d.date;
+    }
+
+    private Day compute() {
+        LocalDate date = LocalDate.now(clock);
+        long end = date.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        return new Day(date, end);
+    }
+}
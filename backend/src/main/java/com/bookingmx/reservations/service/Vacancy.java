@@ -0,0 +1,17 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Hotel;
+
+/** A hotel and the rooms it has free on every night of the searched range. */
+public class Vacancy {
+    private final Hotel hotel;
+    private final int free;
+
+    Vacancy(Hotel hotel, int free) {
+        this.hotel = hotel;
+        this.free = free;
+    }
+
+    public Hotel getHotel() { return hotel; }
+    public int getFree() { return free; }
+}
@@ -0,0 +1,52 @@
+package com.bookingmx.reservations.config;
+
+import com.bookingmx.reservations.repo.ColumnarReservationStore;
+import com.bookingmx.reservations.repo.MapReservationStore;
+import com.bookingmx.reservations.repo.archive.MappedArchive;
+import com.bookingmx.reservations.repo.archive.ReservationArchive;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import com.bookingmx.reservations.repo.journal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceConfigTest {
+
+    private final PersistenceConfig config = new PersistenceConfig();
+
+    @Test
+    void testReservationJournal_selectedByMode(@TempDir Path dir) throws IOException {
+        assertSame(ReservationJournal.NONE, config.reservationJournal("memory", dir.toString()));
+
+        ReservationJournal wal = config.reservationJournal("WAL", dir.toString());
+        try {
+            assertInstanceOf(WriteAheadLog.class, wal);
+        } finally {
+            wal.close();
+        }
+    }
+
+    @Test
+    void testReservationStore_selectedByLayout() {
+        assertInstanceOf(MapReservationStore.class, config.reservationStore("map"));
+        assertInstanceOf(ColumnarReservationStore.class, config.reservationStore("columnar"));
+    }
+
+    @Test
+    void testReservationArchive_selectedByFlagAndMode(@TempDir Path dir) throws IOException {
+        assertSame(ReservationArchive.NONE, config.reservationArchive(false, "wal", dir.toString()));
+
+        try (ReservationArchive kept = config.reservationArchive(true, "wal", dir.toString())) {
+            assertInstanceOf(MappedArchive.class, kept);
+            assertTrue(Files.isDirectory(dir.resolve("archive")));
+        }
+        try (ReservationArchive temporary = config.reservationArchive(true, "memory", dir.toString())) {
+            assertInstanceOf(MappedArchive.class, temporary);
+        }
+    }
+}
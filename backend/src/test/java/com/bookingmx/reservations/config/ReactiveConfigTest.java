@@ -0,0 +1,36 @@
+package com.bookingmx.reservations.config;
+
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.service.NameInterner;
+import com.bookingmx.reservations.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.netty.DisposableServer;
+
+class ReactiveConfigTest {
+
+    @Test
+    void testReactiveServer_servesRoutesOnItsOwnPort() {
+        // Given
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ReservationService service = new ReservationService(new ReservationRepository(), validator, new NameInterner(100));
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        // When
+        DisposableServer server = new ReactiveConfig().reactiveServer(service, validator, mapper, 0);
+
+        // Then
+        try {
+            WebTestClient.bindToServer().baseUrl("http://localhost:" + server.port()).build()
+                    .get().uri("/api/reservations").exchange()
+                    .expectStatus().isOk()
+                    .expectBody().json("[]");
+        } finally {
+            server.disposeNow();
+        }
+    }
+}
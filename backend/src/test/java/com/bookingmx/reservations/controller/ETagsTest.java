@@ -0,0 +1,25 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    @Test
+    void testExpectedVersion_readsStrongTags() {
+        assertEquals(3L, ETags.expectedVersion("\"3\""));
+        assertEquals(3L, ETags.expectedVersion(" 3 "));
+        assertNull(ETags.expectedVersion(null));
+        assertNull(ETags.expectedVersion("*"));
+    }
+
+    @Test
+    void testExpectedVersion_rejectsWeakTags() {
+        PreconditionFailedException e = assertThrows(PreconditionFailedException.class, () -> ETags.expectedVersion("W/\"3\""));
+
+        assertEquals("If-Match needs a strong entity tag", e.getMessage());
+        assertThrows(PreconditionFailedException.class, () -> ETags.expectedVersion("\"abc\""));
+    }
+}
@@ -0,0 +1,152 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.bookingmx.reservations.service.ReservationChangedEvent;
+import com.bookingmx.reservations.service.ReservationsArchivedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ResponseCache cache = new ResponseCache(mapper, 100, Duration.ofMinutes(5));
+    private final LocalDate in = LocalDate.now().plusDays(1);
+
+    @Test
+    void testReservation_servesSerializedBytesUntilChanged() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Reservation r = new Reservation(1L, "Ana", "Paradise Inn", in, in.plusDays(2)).withVersion(1);
+
+        // When
+        ResponseCache.Entry first = cache.reservation(1L, () -> { loads.incrementAndGet(); return Optional.of(r); }).orElseThrow();
+        ResponseCache.Entry second = cache.reservation(1L, () -> { loads.incrementAndGet(); return Optional.of(r); }).orElseThrow();
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals("\"1\"", first.getETag());
+        assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains("\"hotelName\":\"Paradise Inn\""));
+
+        // When - the reservation changes
+        Reservation updated = r.withStatus(ReservationStatus.CANCELED).withVersion(2);
+        cache.onChange(new ReservationChangedEvent(r, updated));
+        ResponseCache.Entry third = cache.reservation(1L, () -> { loads.incrementAndGet(); return Optional.of(updated); }).orElseThrow();
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals("\"2\"", third.getETag());
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(2L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void testReservation_missingIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertTrue(cache.reservation(7L, () -> { loads.incrementAndGet(); return Optional.empty(); }).isEmpty());
+        assertTrue(cache.reservation(7L, () -> { loads.incrementAndGet(); return Optional.empty(); }).isEmpty());
+
+        assertEquals(2, loads.get());
+        assertEquals(0L, cache.stats().get("entries"));
+    }
+
+    @Test
+    void testReservation_cachesEachWireFormatSeparately() throws Exception {
+        // Given
+        Reservation r = new Reservation(1L, "Ana", "Paradise Inn", in, in.plusDays(2)).withVersion(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        ResponseCache.Entry json = cache.reservation(1L, WireFormat.JSON, () -> { loads.incrementAndGet(); return Optional.of(r); }).orElseThrow();
+        ResponseCache.Entry cbor = cache.reservation(1L, WireFormat.CBOR, () -> { loads.incrementAndGet(); return Optional.of(r); }).orElseThrow();
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(json.getETag(), cbor.getETag());
+        assertEquals(in.toEpochDay(), WireFormat.cborMapper().readTree(cbor.getBody()).get("checkIn").asLong());
+        assertTrue(new String(json.getBody(), StandardCharsets.UTF_8).contains("\"checkIn\":\"" + in + "\""));
+
+        // When - a change drops both encodings
+        cache.onChange(new ReservationChangedEvent(r, r.withVersion(2)));
+        cache.reservation(1L, WireFormat.CBOR, () -> { loads.incrementAndGet(); return Optional.of(r); });
+        cache.list(null, null, WireFormat.CBOR, () -> { loads.incrementAndGet(); return listing(List.of(r)); });
+        cache.onChange(new ReservationChangedEvent(r, r.withVersion(3)));
+        cache.list(null, null, WireFormat.CBOR, () -> { loads.incrementAndGet(); return listing(List.of(r)); });
+
+        // Then
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testList_keepsTheSequenceItWasLoadedAt() {
+        // Given
+        Reservation r = new Reservation(1L, "Ana", "Paradise Inn", in, in.plusDays(2)).withVersion(1);
+        ResponseCache.Entry first = cache.list(null, null, () -> new ResponseCache.Listing(41, 1_000, List.of(r)));
+
+        // When - the repository has moved on, but the change event has not reached the cache yet
+        ResponseCache.Entry second = cache.list(null, null, () -> new ResponseCache.Listing(42, 2_000, List.of(r, r)));
+
+        // Then - the stale body still goes out under its own tag
+        assertSame(first, second);
+        assertEquals("W/\"41\"", second.getETag());
+        assertEquals(1_000, second.getLastModified());
+        assertEquals(-1, cache.reservation(1L, () -> Optional.of(r)).orElseThrow().getLastModified());
+    }
+
+    @Test
+    void testOnChange_invalidatesOnlyListsTheReservationBelongsTo() {
+        // Given
+        Reservation before = new Reservation(1L, "Ana", "Paradise Inn", in, in.plusDays(2)).withVersion(1);
+        Reservation after = new Reservation(1L, "Ana", "Ocean View", in, in.plusDays(2)).withVersion(2);
+        AtomicInteger loads = new AtomicInteger();
+        String[][] filters = {{null, null}, {"Paradise Inn", null}, {"Ocean View", null}, {null, "Ana"},
+                {"Paradise Inn", "Ana"}, {"Grand Plaza", null}, {null, "Luis"}};
+        for (String[] f : filters) cache.list(f[0], f[1], () -> { loads.incrementAndGet(); return listing(List.of()); });
+
+        // When - the hotel moves from Paradise Inn to Ocean View
+        cache.onChange(new ReservationChangedEvent(before, after));
+        loads.set(0);
+        for (String[] f : filters) cache.list(f[0], f[1], () -> { loads.incrementAndGet(); return listing(List.of()); });
+
+        // Then - everything but Grand Plaza and Luis was reloaded
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testOnArchived_dropsListsButKeepsTheReservation() {
+        // Given
+        Reservation r = new Reservation(1L, "Ana", "Paradise Inn", in, in.plusDays(2)).withVersion(1);
+        AtomicInteger loads = new AtomicInteger();
+        cache.reservation(1L, () -> Optional.of(r));
+        cache.list(null, null, () -> listing(List.of(r)));
+        cache.list("Grand Plaza", null, () -> listing(List.of()));
+
+        // When
+        cache.onArchived(new ReservationsArchivedEvent(List.of(r)));
+
+        // Then - the archived reservation still reads the same, so only the list that held it is reloaded
+        cache.reservation(1L, () -> { loads.incrementAndGet(); return Optional.of(r); });
+        cache.list(null, null, () -> { loads.incrementAndGet(); return listing(List.of()); });
+        cache.list("Grand Plaza", null, () -> { loads.incrementAndGet(); return listing(List.of()); });
+        assertEquals(1, loads.get());
+    }
+
+    private static ResponseCache.Listing listing(List<Reservation> reservations) {
+        return new ResponseCache.Listing(1, 0, reservations);
+    }
+}
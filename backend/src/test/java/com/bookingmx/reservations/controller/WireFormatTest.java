@@ -0,0 +1,91 @@
+package com.bookingmx.reservations.controller;
+
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.dto.ReservationResponse;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatTest {
+
+    private final ObjectMapper cbor = WireFormat.cborMapper();
+    private final LocalDate in = LocalDate.now().plusDays(1);
+
+    @Test
+    void testNegotiate_defaultsToJson() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(""));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/json, application/cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("text/html"));
+    }
+
+    @Test
+    void testNegotiate_picksCborWhenRankedHigher() {
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor, */*;q=0.1"));
+        // the specific range decides, not the wildcard that also matches
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("*/*, application/json;q=0.2"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0.3, application/*"));
+    }
+
+    @Test
+    void testCborMapper_writesEpochDaysAndStatusOrdinals() throws Exception {
+        // Given
+        Reservation r = new Reservation(5L, "Ana", "Paradise Inn", in, in.plusDays(3)).withStatus(ReservationStatus.CANCELED);
+
+        // When
+        JsonNode node = cbor.readTree(cbor.writeValueAsBytes(ReservationResponse.from(r)));
+
+        // Then
+        assertTrue(node.get("checkIn").isIntegralNumber());
+        assertEquals(in.toEpochDay(), node.get("checkIn").asLong());
+        assertEquals(in.plusDays(3).toEpochDay(), node.get("checkOut").asLong());
+        assertEquals(ReservationStatus.CANCELED.ordinal(), node.get("status").asInt());
+        assertEquals("Paradise Inn", node.get("hotelName").asText());
+    }
+
+    @Test
+    void testCborMapper_readsRequestsWithEpochDays() throws Exception {
+        // Given
+        byte[] body = cbor.writeValueAsBytes(Map.of(
+                "guestName", "Ana", "hotelName", "Paradise Inn",
+                "checkIn", in.toEpochDay(), "checkOut", in.plusDays(2).toEpochDay(), "extra", true));
+
+        // When
+        ReservationRequest req = cbor.readValue(body, ReservationRequest.class);
+
+        // Then
+        assertEquals("Ana", req.getGuestName());
+        assertEquals(in, req.getCheckIn());
+        assertEquals(in.plusDays(2), req.getCheckOut());
+    }
+
+    @Test
+    void testCborMapper_rejectsIsoDateStrings() throws Exception {
+        byte[] body = cbor.writeValueAsBytes(Map.of("checkIn", in.toString()));
+
+        assertThrows(MismatchedInputException.class, () -> cbor.readValue(body, ReservationRequest.class));
+    }
+
+    @Test
+    void testCbor_isSmallerThanJson() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        ReservationResponse response = ReservationResponse.from(new Reservation(5L, "Ana", "Paradise Inn", in, in.plusDays(3)));
+
+        assertTrue(cbor.writeValueAsBytes(response).length < json.writeValueAsBytes(response).length);
+    }
+}
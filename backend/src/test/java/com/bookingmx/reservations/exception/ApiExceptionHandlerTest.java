@@ -0,0 +1,32 @@
+package com.bookingmx.reservations.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void testHandleGenericException_reportsTypeAsServerError() {
+        // When
+        ResponseEntity<Map<String, Object>> response = handler.handleGenericException(new IllegalStateException("boom"));
+
+        // Then
+        assertEquals(500, response.getStatusCode().value());
+        assertEquals("boom", response.getBody().get("message"));
+        assertEquals("IllegalStateException", response.getBody().get("type"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
+    @Test
+    void testHandleGenericException_withoutMessage() {
+        ResponseEntity<Map<String, Object>> response = handler.handleGenericException(new RuntimeException());
+
+        assertEquals("Unexpected error", response.getBody().get("message"));
+    }
+}
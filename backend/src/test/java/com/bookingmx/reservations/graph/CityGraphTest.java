@@ -0,0 +1,106 @@
+package com.bookingmx.reservations.graph;
+
+import com.bookingmx.reservations.graph.RoadNetwork.Road;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityGraphTest {
+
+    private static final List<String> CITIES = List.of("Guadalajara", "Tlaquepaque", "Zapopan", "Tepatitlán", "Lagos de Moreno", "Tala", "Tequila");
+    private static final List<Road> ROADS = List.of(
+            new Road("Guadalajara", "Zapopan", 12),
+            new Road("Guadalajara", "Tlaquepaque", 10),
+            new Road("Guadalajara", "Tepatitlán", 78),
+            new Road("Guadalajara", "Tequila", 60),
+            new Road("Zapopan", "Tala", 35),
+            new Road("Tepatitlán", "Lagos de Moreno", 85));
+
+    private static List<String> names(CityGraph graph, CityGraph.Reach reach, int n) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < n; i++) names.add(graph.name(reach.city(i)) + "=" + reach.km(i));
+        return names;
+    }
+
+    @Test
+    void testNearby_followsRoadsOverSeveralHops() {
+        // Given
+        CityGraph graph = CityGraph.build(CITIES, ROADS);
+
+        // When
+        CityGraph.Reach reach = graph.nearby(graph.id("Tlaquepaque"), 100);
+
+        // Then - nearest first, Tala through Guadalajara and Zapopan, Lagos de Moreno out of range
+        assertEquals(List.of("Guadalajara=10.0", "Zapopan=22.0", "Tala=57.0", "Tequila=70.0", "Tepatitlán=88.0"),
+                names(graph, reach, reach.size()));
+        assertEquals(3, reach.within(57));
+        assertEquals(0, reach.within(5));
+        assertEquals(-1, graph.id("Atlantis"));
+        assertEquals(7, graph.size());
+    }
+
+    @Test
+    void testNearby_prefersShorterMultiHopRoute() {
+        // Given - the direct road is longer than going through B
+        CityGraph graph = CityGraph.build(List.of("A", "B", "C"),
+                List.of(new Road("A", "C", 50), new Road("A", "B", 10), new Road("B", "C", 15)));
+
+        // When
+        CityGraph.Reach reach = graph.nearby(graph.id("A"), 100);
+
+        // Then
+        assertEquals(List.of("B=10.0", "C=25.0"), names(graph, reach, reach.size()));
+    }
+
+    @Test
+    void testBuild_rejectsInvalidData() {
+        assertThrows(IllegalArgumentException.class, () -> CityGraph.build(List.of("A", "A"), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> CityGraph.build(List.of("A", " "), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> CityGraph.build(List.of("A"), List.of(new Road("A", "B", 1))));
+        assertThrows(IllegalArgumentException.class, () -> CityGraph.build(List.of("A", "B"), List.of(new Road("A", "B", -1))));
+        assertThrows(IllegalArgumentException.class, () -> CityGraph.build(List.of("A", "B"), List.of(new Road("A", "B", Double.NaN))));
+    }
+
+    @Test
+    void testNearby_matchesAllPairsShortestPaths() {
+        // Given - a random sparse network and Floyd-Warshall as the reference
+        int n = 150;
+        Random random = new Random(7);
+        List<String> cities = new ArrayList<>();
+        for (int i = 0; i < n; i++) cities.add("City " + i);
+        double[][] best = new double[n][n];
+        for (double[] row : best) Arrays.fill(row, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < n; i++) best[i][i] = 0;
+        List<Road> roads = new ArrayList<>();
+        for (int e = 0; e < 400; e++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            double km = 1 + random.nextInt(100);
+            roads.add(new Road(cities.get(a), cities.get(b), km));
+            best[a][b] = best[b][a] = Math.min(best[a][b], km);
+        }
+        for (int k = 0; k < n; k++)
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < n; j++) best[i][j] = Math.min(best[i][j], best[i][k] + best[k][j]);
+        CityGraph graph = CityGraph.build(cities, roads);
+
+        // When & Then - every source, reusing the same scratch space search after search
+        for (int round = 0; round < 3; round++) {
+            for (int s = 0; s < n; s++) {
+                double radius = 50 + random.nextInt(200);
+                CityGraph.Reach reach = graph.nearby(s, radius);
+                int expected = 0;
+                for (int t = 0; t < n; t++) if (t != s && best[s][t] <= radius) expected++;
+                assertEquals(expected, reach.size());
+                for (int i = 0; i < reach.size(); i++) {
+                    assertEquals(best[s][reach.city(i)], reach.km(i), 1e-9);
+                    if (i > 0) assertTrue(reach.km(i - 1) <= reach.km(i));
+                }
+            }
+        }
+    }
+}
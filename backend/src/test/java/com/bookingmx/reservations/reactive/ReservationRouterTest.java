@@ -0,0 +1,214 @@
+package com.bookingmx.reservations.reactive;
+
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.service.NameInterner;
+import com.bookingmx.reservations.service.ReservationService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationRouterTest {
+
+    private ReservationService service;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReservationService(new ReservationRepository(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new NameInterner(100));
+        client = WebTestClient.bindToRouterFunction(ReservationRouter.routes(new ReservationHandler(service, Validation.buildDefaultValidatorFactory().getValidator())))
+                .build();
+    }
+
+    @Test
+    void testCreateAndGet_returnsReservationWithETag() {
+        // When
+        client.post().uri("/api/reservations").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Paradise Inn", 3, 5))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Location", "/api/reservations/1")
+                .expectBody().jsonPath("$.hotelName").isEqualTo("Paradise Inn").jsonPath("$.version").isEqualTo(1);
+
+        // Then
+        client.get().uri("/api/reservations/1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"1\"")
+                .expectBody().jsonPath("$.guestName").isEqualTo("Ana");
+        client.get().uri("/api/reservations/99").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Reservation not found");
+    }
+
+    @Test
+    void testCreate_invalidBodyReportsFieldErrors() {
+        client.post().uri("/api/reservations").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("guestName", "", "hotelName", "Paradise Inn"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Validation failed").jsonPath("$.errors.guestName").exists();
+
+        client.post().uri("/api/reservations").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Paradise Inn", 5, 3))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Check-out must be after check-in");
+    }
+
+    @Test
+    void testListAndPage_followCursor() {
+        // Given
+        for (int i = 0; i < 3; i++) create("Paradise Inn");
+        long last = create("Ocean View").getId(); // another hotel may draw its ids from a later block
+
+        // Then
+        client.get().uri("/api/reservations?hotel=Paradise Inn").exchange()
+                .expectStatus().isOk().expectBody().jsonPath("$.length()").isEqualTo(3);
+        client.get().uri("/api/reservations?limit=2").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", "2")
+                .expectBody().jsonPath("$[1].id").isEqualTo(2);
+        client.get().uri("/api/reservations?after=2&limit=2").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Next-Cursor", String.valueOf(last))
+                .expectBody().jsonPath("$[0].id").isEqualTo(3);
+        client.get().uri("/api/reservations?after=" + last).exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("X-Next-Cursor");
+        client.get().uri("/api/reservations?limit=abc").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid value for 'limit'");
+    }
+
+    @Test
+    void testExport_streamsNdjsonInIdOrder() {
+        // Given
+        long first = create("Paradise Inn").getId();
+        create("Ocean View");
+        long second = create("Paradise Inn").getId();
+
+        // When
+        String body = client.get().uri("/api/reservations/export?hotel=Paradise Inn").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        // Then
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":" + first + ","));
+        assertTrue(lines[1].contains("\"id\":" + second + ","));
+    }
+
+    @Test
+    void testChanges_deltaAfterCursor() {
+        // Given
+        create("Paradise Inn");
+        long since = service.changeSequence();
+        create("Ocean View");
+
+        // Then
+        client.get().uri("/api/reservations/changes?since=" + since).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.full").isEqualTo(false)
+                .jsonPath("$.reservations.length()").isEqualTo(1)
+                .jsonPath("$.reservations[0].hotelName").isEqualTo("Ocean View");
+        client.get().uri("/api/reservations/changes").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.full").isEqualTo(true).jsonPath("$.reservations.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testOverlaps_validatesParameters() {
+        // Given
+        create("Paradise Inn");
+        LocalDate from = LocalDate.now().plusDays(4);
+
+        // Then
+        client.get().uri("/api/reservations/overlaps?hotel=Paradise Inn&from=" + from + "&to=" + from.plusDays(2)).exchange()
+                .expectStatus().isOk().expectBody().jsonPath("$.length()").isEqualTo(1);
+        client.get().uri("/api/reservations/overlaps?from=" + from + "&to=" + from.plusDays(2)).exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/reservations/overlaps?hotel=Paradise Inn&from=soon&to=" + from).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid value for 'from'");
+    }
+
+    @Test
+    void testListAndGet_revalidateWithETag() {
+        // Given
+        Reservation r = create("Paradise Inn");
+        String eTag = client.get().uri("/api/reservations").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$[0].id").isEqualTo(r.getId().intValue())
+                .returnResult().getResponseHeaders().getETag();
+
+        // Then
+        client.get().uri("/api/reservations").header("If-None-Match", eTag).exchange()
+                .expectStatus().isNotModified();
+        client.get().uri("/api/reservations/" + r.getId()).header("If-None-Match", "\"1\"").exchange()
+                .expectStatus().isNotModified();
+
+        // When
+        create("Ocean View");
+
+        // Then
+        client.get().uri("/api/reservations").header("If-None-Match", eTag).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    void testUpdateAndCancel_honourIfMatch() {
+        // Given
+        Reservation r = create("Paradise Inn");
+
+        // Then - a stale version is refused
+        client.put().uri("/api/reservations/" + r.getId()).header("If-Match", "\"7\"").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Ocean View", 3, 6))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        client.put().uri("/api/reservations/" + r.getId()).header("If-Match", "\"1\"").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Ocean View", 3, 6))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"2\"")
+                .expectBody().jsonPath("$.hotelName").isEqualTo("Ocean View");
+        client.delete().uri("/api/reservations/" + r.getId()).header("If-Match", "\"2\"").exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals("ETag", "\"3\"");
+        client.put().uri("/api/reservations/" + r.getId()).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body("Ocean View", 3, 6))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Cannot update a canceled reservation");
+        client.delete().uri("/api/reservations/abc").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private Reservation create(String hotel) {
+        ReservationRequest req = new ReservationRequest();
+        req.setGuestName("Ana");
+        req.setHotelName(hotel);
+        req.setCheckIn(LocalDate.now().plusDays(3));
+        req.setCheckOut(LocalDate.now().plusDays(5));
+        return service.create(req);
+    }
+
+    private static Map<String, Object> body(String hotel, int inDays, int outDays) {
+        return Map.of("guestName", "Ana", "hotelName", hotel,
+                "checkIn", LocalDate.now().plusDays(inDays).toString(),
+                "checkOut", LocalDate.now().plusDays(outDays).toString());
+    }
+}
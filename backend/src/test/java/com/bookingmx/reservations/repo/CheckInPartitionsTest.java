@@ -0,0 +1,139 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckInPartitionsTest {
+
+    private final ReservationRepository repo = new ReservationRepository();
+    private final LocalDate march = LocalDate.of(2025, 3, 1);
+
+    private Reservation save(String guest, LocalDate in, int nights) {
+        return repo.save(new Reservation(null, guest, "Paradise Inn", in, in.plusDays(nights)));
+    }
+
+    private static List<String> guests(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getGuestName).toList();
+    }
+
+    @Test
+    void testFindArrivals_byDayAcrossMonths() {
+        // Given
+        save("Feb", march.minusDays(1), 2);
+        save("Mar1", march, 1);
+        save("Mar31", march.plusDays(30), 3);
+        save("Apr", march.plusDays(31), 1);
+        Reservation canceled = save("Canceled", march.plusDays(2), 1);
+        repo.update(canceled.getId(), r -> r.withStatus(ReservationStatus.CANCELED));
+
+        // When & Then
+        assertEquals(List.of("Mar1", "Mar31", "Apr"), guests(repo.findArrivals(march, march.plusDays(32))));
+        assertEquals(List.of("Feb", "Mar1"), guests(repo.findArrivals(march.minusDays(1), march.plusDays(1))));
+        assertEquals(List.of(), guests(repo.findArrivals(march.plusDays(1), march.plusDays(30))));
+    }
+
+    @Test
+    void testFindDepartures_reachesBackOnlyAsFarAsTheLongestStay() {
+        // Given - a long January stay ends in March; short January stays do not
+        save("Long", march.minusDays(50), 52);
+        save("Short", march.minusDays(40), 2);
+        save("Mar", march, 3);
+
+        // When & Then - by check-out day
+        assertEquals(List.of("Long", "Mar"), guests(repo.findDepartures(march, march.plusDays(4))));
+        assertEquals(List.of("Mar"), guests(repo.findDepartures(march.plusDays(3), march.plusDays(4))));
+        assertEquals(List.of("Short"), guests(repo.findDepartures(march.minusDays(38), march.minusDays(37))));
+    }
+
+    @Test
+    void testUpdate_checkInChangeMovesBetweenSealedAndOpenMonths() {
+        // Given - February and March are sealed
+        Reservation r = save("Ana", march.minusDays(3), 2);
+        save("Luis", march.plusDays(5), 2);
+        repo.sealMonthsBefore(YearMonth.of(2025, 4));
+        repo.sealMonthsBefore(YearMonth.of(2025, 4)); // nothing left to do
+
+        // When - moved from February to April, then into sealed March
+        repo.update(r.getId(), x -> new Reservation(x.getId(), "Ana", "Paradise Inn", march.plusDays(31), march.plusDays(33)));
+
+        // Then - the key left in sealed February no longer matches
+        assertEquals(List.of(), guests(repo.findArrivals(march.minusDays(28), march)));
+        assertEquals(List.of("Luis", "Ana"), guests(repo.findArrivals(march, march.plusDays(40))));
+        assertEquals(List.of("Luis", "Ana"), guests(repo.findDepartures(march, march.plusDays(40))));
+
+        repo.update(r.getId(), x -> new Reservation(x.getId(), "Ana", "Paradise Inn", march.plusDays(5), march.plusDays(6)));
+        assertEquals(List.of("Ana", "Luis"), guests(repo.findArrivals(march.plusDays(5), march.plusDays(6)))); // same day: by id
+        assertEquals(List.of(), guests(repo.findArrivals(march.plusDays(31), march.plusDays(32))));
+    }
+
+    @Test
+    void testPartitions_matchAScanThroughSealingAndRemoval() {
+        // Given - stays spread over a year, some canceled, half of the months sealed midway
+        Random random = new Random(7);
+        List<Reservation> saved = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            saved.add(save("G" + i, march.plusDays(random.nextInt(365)), 1 + random.nextInt(20)));
+            if (i == 1000) repo.sealMonthsBefore(YearMonth.of(2025, 9));
+        }
+        for (int i = 0; i < 300; i++) repo.update(saved.get(random.nextInt(saved.size())).getId(), r -> r.withStatus(ReservationStatus.CANCELED));
+
+        // When & Then
+        for (int q = 0; q < 50; q++) {
+            LocalDate from = march.plusDays(random.nextInt(380));
+            LocalDate to = from.plusDays(1 + random.nextInt(60));
+            List<Long> arrivals = repo.findAll().stream().filter(Reservation::isActive)
+                    .filter(r -> !r.getCheckIn().isBefore(from) && r.getCheckIn().isBefore(to))
+                    .sorted(Comparator.comparing(Reservation::getCheckIn).thenComparing(Reservation::getId))
+                    .map(Reservation::getId).toList();
+            List<Long> departures = repo.findAll().stream().filter(Reservation::isActive)
+                    .filter(r -> !r.getCheckOut().isBefore(from) && r.getCheckOut().isBefore(to))
+                    .sorted(Comparator.comparing(Reservation::getCheckOut).thenComparing(Reservation::getId))
+                    .map(Reservation::getId).toList();
+            assertEquals(arrivals, repo.findArrivals(from, to).stream().map(Reservation::getId).toList());
+            assertEquals(departures, repo.findDepartures(from, to).stream().map(Reservation::getId).toList());
+        }
+    }
+
+    @Test
+    void testCompact_dropsKeysRemovedFromSealedMonths() {
+        // Given - February and March sealed, then every February stay and one March stay removed
+        CheckInPartitions partitions = new CheckInPartitions();
+        Reservation feb = new Reservation(1L, "Feb", "Paradise Inn", march.minusDays(3), march.minusDays(1));
+        Reservation mar = new Reservation(2L, "Mar", "Paradise Inn", march, march.plusDays(2));
+        Reservation gone = new Reservation(3L, "Gone", "Paradise Inn", march.plusDays(1), march.plusDays(2));
+        Reservation late = new Reservation(4L, "Late", "Paradise Inn", march.plusDays(4), march.plusDays(5));
+        List.of(feb, mar, gone).forEach(partitions::add);
+        assertEquals(2, partitions.seal(CheckInPartitions.month((int) march.plusDays(31).toEpochDay())));
+        partitions.remove(feb);
+        partitions.remove(gone);
+
+        // When
+        int dropped = partitions.compact();
+
+        // Then - February is gone and a late write reopening March does not bring the removed key back
+        assertEquals(2, dropped);
+        assertEquals(1, partitions.partitions());
+        partitions.add(late);
+        List<Long> ids = new ArrayList<>();
+        partitions.checkingIn((int) march.minusDays(28).toEpochDay(), (int) march.plusDays(31).toEpochDay(), (day, id) -> ids.add(id));
+        assertEquals(List.of(2L, 4L), ids);
+        assertEquals(0, partitions.compact());
+    }
+
+    @Test
+    void testMonth_countsFromJanuary1970() {
+        assertEquals(0, CheckInPartitions.month(0));
+        assertEquals(-1, CheckInPartitions.month(-1));
+        assertEquals(55 * 12 + 2, CheckInPartitions.month((int) march.toEpochDay()));
+    }
+}
@@ -0,0 +1,156 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarReservationStoreTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    @Test
+    void testRoundTrip_allFields() {
+        // Given
+        ColumnarReservationStore store = new ColumnarReservationStore();
+        Reservation r = new Reservation(7L, "Juan", "Paradise Inn", BASE, BASE.plusDays(3), ReservationStatus.CANCELED, Integer.MAX_VALUE + 4L);
+
+        // When
+        store.compute(7L, (id, previous) -> r);
+        Reservation loaded = store.get(7L);
+
+        // Then - a fresh object carrying the same values
+        assertNotSame(r, loaded);
+        assertEquals(7L, loaded.getId());
+        assertEquals("Juan", loaded.getGuestName());
+        assertEquals("Paradise Inn", loaded.getHotelName());
+        assertEquals(BASE, loaded.getCheckIn());
+        assertEquals(BASE.plusDays(3), loaded.getCheckOut());
+        assertEquals(ReservationStatus.CANCELED, loaded.getStatus());
+        assertEquals(Integer.MAX_VALUE + 4L, loaded.getVersion());
+        assertNull(store.get(8L));
+    }
+
+    @Test
+    void testNullFields() {
+        // Given
+        ColumnarReservationStore store = new ColumnarReservationStore();
+
+        // When
+        store.compute(1L, (id, previous) -> new Reservation(1L, null, null, null, null));
+
+        // Then
+        Reservation loaded = store.get(1L);
+        assertNull(loaded.getGuestName());
+        assertNull(loaded.getHotelName());
+        assertNull(loaded.getCheckIn());
+        assertNull(loaded.getCheckOut());
+    }
+
+    @Test
+    void testCompute_seesPreviousAndRemovesOnNull() {
+        // Given
+        ColumnarReservationStore store = new ColumnarReservationStore();
+        for (long id = 1; id <= 3; id++) {
+            long n = id;
+            store.compute(id, (k, previous) -> new Reservation(n, "guest-" + n, "hotel", BASE, BASE.plusDays(1)));
+        }
+
+        // When
+        store.compute(2L, (id, previous) -> {
+            assertEquals("guest-2", previous.getGuestName());
+            return null;
+        });
+
+        // Then - the last row moved into the freed slot is still found by id
+        assertEquals(2, store.size());
+        assertNull(store.get(2L));
+        assertEquals("guest-3", store.get(3L).getGuestName());
+        assertEquals(List.of(1L, 3L), store.values().stream().map(Reservation::getId).sorted().toList());
+    }
+
+    @Test
+    void testMatchesMapStore_randomOperations() {
+        // Given
+        ColumnarReservationStore columnar = new ColumnarReservationStore();
+        Map<Long, Reservation> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                columnar.compute(id, (k, previous) -> null);
+                expected.remove(id);
+            } else {
+                LocalDate in = BASE.plusDays(random.nextInt(365));
+                Reservation r = new Reservation(id, "guest-" + random.nextInt(500), "hotel-" + random.nextInt(50), in, in.plusDays(2));
+                columnar.compute(id, (k, previous) -> r);
+                expected.put(id, r);
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), columnar.size());
+        for (Reservation r : expected.values()) {
+            Reservation loaded = columnar.get(r.getId());
+            assertEquals(r.getGuestName(), loaded.getGuestName());
+            assertEquals(r.getHotelName(), loaded.getHotelName());
+            assertEquals(r.getCheckIn(), loaded.getCheckIn());
+        }
+    }
+
+    @Test
+    void testCompute_otherIdsDoNotWaitForARunningWrite() throws Exception {
+        // Given - a write to id 1 held inside its remapping
+        ColumnarReservationStore store = new ColumnarReservationStore();
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Reservation> held = CompletableFuture.supplyAsync(() -> store.compute(1L, (id, previous) -> {
+            inside.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Reservation(1L, "Ana", "Paradise Inn", BASE, BASE.plusDays(1));
+        }));
+        assertTrue(inside.await(10, TimeUnit.SECONDS));
+
+        // When - id 2 lives in another stripe
+        CompletableFuture<Reservation> other = CompletableFuture.supplyAsync(() ->
+                store.compute(2L, (id, previous) -> new Reservation(2L, "Luis", "Paradise Inn", BASE, BASE.plusDays(1))));
+
+        // Then
+        assertEquals("Luis", other.get(10, TimeUnit.SECONDS).getGuestName());
+        assertFalse(held.isDone());
+        release.countDown();
+        assertEquals("Ana", held.get(10, TimeUnit.SECONDS).getGuestName());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testClear() {
+        // Given
+        ColumnarReservationStore store = new ColumnarReservationStore();
+        store.compute(1L, (id, previous) -> new Reservation(1L, "Juan", "Paradise Inn", BASE, BASE.plusDays(1)));
+
+        // When
+        store.clear();
+
+        // Then
+        assertEquals(0, store.size());
+        assertNull(store.get(1L));
+        assertTrue(store.values().isEmpty());
+    }
+}
@@ -0,0 +1,62 @@
+package com.bookingmx.reservations.repo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    private static List<Long> query(IntervalTree tree, int from, int to) {
+        List<Long> ids = new ArrayList<>();
+        tree.overlapping(from, to, ids::add);
+        ids.sort(null);
+        return ids;
+    }
+
+    @Test
+    void testOverlapping_halfOpenBounds() {
+        // Given
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 12, 1L);
+        tree.insert(12, 15, 2L);
+        tree.insert(20, 25, 3L);
+
+        // When & Then - checkout day does not overlap the next check-in
+        assertEquals(List.of(1L), query(tree, 10, 12));
+        assertEquals(List.of(1L, 2L), query(tree, 11, 13));
+        assertEquals(List.of(), query(tree, 15, 20));
+        assertEquals(List.of(2L, 3L), query(tree, 14, 21));
+    }
+
+    @Test
+    void testRemove() {
+        // Given
+        IntervalTree tree = new IntervalTree();
+        for (long id = 1; id <= 100; id++) tree.insert((int) id, (int) id + 3, id);
+
+        // When
+        assertTrue(tree.remove(50, 50L));
+        assertFalse(tree.remove(50, 50L));
+        assertFalse(tree.remove(51, 50L));
+
+        // Then
+        assertEquals(99, tree.size());
+        assertEquals(List.of(48L, 49L, 51L), query(tree, 50, 52));
+    }
+
+    @Test
+    void testInsert_sameStartDifferentIds() {
+        // Given
+        IntervalTree tree = new IntervalTree();
+        tree.insert(5, 6, 2L);
+        tree.insert(5, 9, 1L);
+        tree.insert(5, 9, 1L); // duplicate key is ignored
+
+        // When & Then - the longer stay is still found past the shorter one's end
+        assertEquals(2, tree.size());
+        assertEquals(List.of(1L), query(tree, 7, 8));
+    }
+}
@@ -0,0 +1,61 @@
+package com.bookingmx.reservations.repo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        // Given
+        LongIntMap map = new LongIntMap();
+
+        // When
+        map.put(42L, 0);
+        map.put(-1L, 7);
+        map.put(42L, 3);
+
+        // Then
+        assertEquals(3, map.get(42L));
+        assertEquals(7, map.get(-1L));
+        assertEquals(-1, map.get(0L));
+        assertEquals(2, map.size());
+
+        map.remove(42L);
+        map.remove(42L);
+        assertEquals(-1, map.get(42L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testMatchesHashMap_withGrowthAndRemovals() {
+        // Given
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(5);
+
+        // When - a narrow key range keeps probe runs long, exercising backward-shift deletion
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(20_000) * 1024L;
+            if (random.nextBoolean()) {
+                int value = random.nextInt(1_000_000);
+                map.put(key, value);
+                expected.put(key, value);
+            } else {
+                map.remove(key);
+                expected.remove(key);
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 20_000; key++) {
+            assertEquals((int) expected.getOrDefault(key * 1024L, -1), map.get(key * 1024L));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bookingmx.reservations.repo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyTest {
+
+    @Test
+    void testBooked_emptyRangesCountZero() {
+        assertArrayEquals(new int[3], new Occupancy().booked(100, 103));
+    }
+
+    @Test
+    void testAdd_growsInBothDirections() {
+        // Given
+        Occupancy occupancy = new Occupancy();
+        occupancy.add(1_000, 1_002, 1);
+
+        // When - stays far before and after the first one
+        occupancy.add(900, 1_001, 1);
+        occupancy.add(1_001, 1_500, 1);
+        occupancy.add(1_001, 1_002, -1);
+
+        // Then
+        assertArrayEquals(new int[]{0, 1}, occupancy.booked(899, 901));
+        assertArrayEquals(new int[]{1, 2, 1, 1}, occupancy.booked(999, 1_003));
+        assertArrayEquals(new int[]{1, 0}, occupancy.booked(1_499, 1_501));
+    }
+
+    @Test
+    void testAdd_farApartStaysOnlyAllocateTheirOwnPages() {
+        // Given
+        Occupancy occupancy = new Occupancy();
+
+        // When - one stay now and one near the end of year 9999
+        occupancy.add(20_000, 20_003, 1);
+        occupancy.add(2_932_890, 2_932_893, 1);
+
+        // Then
+        assertEquals(2, occupancy.pages());
+        assertEquals(1, occupancy.peak(0, 3_000_000));
+        assertArrayEquals(new int[]{0, 1, 1, 1, 0}, occupancy.booked(2_932_889, 2_932_894));
+    }
+
+    @Test
+    void testPeak_matchesScanOfNights() {
+        // Given - random stays and releases over two years, growing the range both ways
+        Occupancy occupancy = new Occupancy();
+        int[] nights = new int[730];
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            int from = random.nextInt(700);
+            int to = from + 1 + random.nextInt(30);
+            int delta = random.nextInt(4) == 0 ? -1 : 1;
+            occupancy.add(20_000 + from, 20_000 + to, delta);
+            for (int d = from; d < to; d++) nights[d] += delta;
+        }
+
+        // When & Then
+        for (int i = 0; i < 1_000; i++) {
+            int from = random.nextInt(729);
+            int to = from + 1 + random.nextInt(729 - from);
+            int expected = Integer.MIN_VALUE;
+            for (int d = from; d < to; d++) expected = Math.max(expected, nights[d]);
+            assertEquals(Math.max(expected, 0), occupancy.peak(20_000 + from, 20_000 + to), "peak of [" + from + ", " + to + ")");
+        }
+        assertEquals(0, occupancy.peak(10_000, 10_010));
+    }
+}
@@ -0,0 +1,123 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.bookingmx.reservations.repo.archive.MappedArchive;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import com.bookingmx.reservations.repo.journal.WriteAheadLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationRepositoryArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private final LocalDate today = LocalDate.now();
+
+    private static List<Long> ids(List<Reservation> reservations) {
+        return reservations.stream().map(Reservation::getId).toList();
+    }
+
+    @Test
+    void testArchive_movesCanceledAndCheckedOutOutOfTheHotSet() throws IOException {
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            // Given
+            ReservationRepository repo = new ReservationRepository(ReservationJournal.NONE, new MapReservationStore(), archive);
+            Reservation past = repo.save(new Reservation(null, "Ana", "Paradise Inn", today.minusDays(40), today.minusDays(35)));
+            Reservation recent = repo.save(new Reservation(null, "Ana", "Paradise Inn", today.minusDays(5), today.minusDays(2)));
+            Reservation canceled = repo.save(new Reservation(null, "Luis", "Ocean View", today.plusDays(3), today.plusDays(5)));
+            canceled = repo.update(canceled.getId(), r -> r.withStatus(ReservationStatus.CANCELED)).orElseThrow();
+            Reservation upcoming = repo.save(new Reservation(null, "Luis", "Paradise Inn", today.plusDays(1), today.plusDays(4)));
+            long sequence = repo.changeSequence();
+
+            // When
+            List<Reservation> moved = repo.archive(today.minusDays(30));
+
+            // Then - lists and indexes only see the hot set; ids still resolve
+            assertEquals(List.of(past.getId(), canceled.getId()), ids(moved));
+            assertEquals(List.of(recent.getId(), upcoming.getId()), ids(repo.findPage(null, null, null, 10)));
+            assertEquals(List.of(recent.getId(), upcoming.getId()), ids(repo.findByHotel("Paradise Inn")));
+            assertEquals(List.of(upcoming.getId()), ids(repo.findByGuest("Luis")));
+            assertEquals(2, repo.count());
+            assertEquals(0, repo.countByStatus(ReservationStatus.CANCELED));
+            assertEquals(2, repo.countArchived());
+            assertEquals(0, repo.nightsBooked("Paradise Inn", today.minusDays(40), today.minusDays(39))[0]);
+            assertEquals(past, repo.findById(past.getId()).orElseThrow());
+            assertEquals(canceled, repo.findById(canceled.getId()).orElseThrow());
+            assertTrue(repo.isArchived(past.getId()));
+            assertFalse(repo.isArchived(upcoming.getId()));
+            assertTrue(repo.changeSequence() > sequence);
+            assertTrue(repo.changesSince(sequence, repo.changeSequence()).isEmpty()); // delta clients resync
+            long after = repo.changeSequence();
+            assertEquals(List.of(), repo.archive(today.minusDays(30)));
+            assertEquals(after, repo.changeSequence());
+
+            // archived reservations are read-only
+            assertTrue(repo.update(past.getId(), r -> r.withStatus(ReservationStatus.CANCELED)).isEmpty());
+        }
+    }
+
+    @Test
+    void testArchive_reservationChangedMeanwhileStaysHot() throws IOException {
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            // Given - the store hands out the old version, then the reservation changes before it is removed
+            ReservationRepository[] repo = new ReservationRepository[1];
+            MapReservationStore store = new MapReservationStore() {
+                @Override
+                public List<Reservation> values() {
+                    List<Reservation> snapshot = super.values();
+                    Long id = snapshot.get(0).getId();
+                    repo[0].update(id, r -> r.withStatus(ReservationStatus.CANCELED));
+                    return snapshot;
+                }
+            };
+            repo[0] = new ReservationRepository(ReservationJournal.NONE, store, archive);
+            Reservation r = repo[0].save(new Reservation(null, "Ana", "Paradise Inn", today.minusDays(9), today.minusDays(8)));
+
+            // When
+            List<Reservation> moved = repo[0].archive(today);
+
+            // Then - the stale copy was archived, but the newer one is still hot and wins
+            assertEquals(List.of(), moved);
+            assertEquals(1, repo[0].count());
+            assertEquals(ReservationStatus.CANCELED, repo[0].findById(r.getId()).orElseThrow().getStatus());
+            assertFalse(repo[0].isArchived(r.getId()));
+        }
+    }
+
+    @Test
+    void testRestart_replayedArchivedReservationsStayArchived() throws IOException {
+        // Given
+        Reservation past;
+        Reservation kept;
+        try (WriteAheadLog wal = new WriteAheadLog(dir.resolve("wal")); MappedArchive archive = MappedArchive.open(dir.resolve("archive"))) {
+            ReservationRepository repo = new ReservationRepository(wal, new MapReservationStore(), archive);
+            kept = repo.save(new Reservation(null, "Luis", "Ocean View", today.plusDays(1), today.plusDays(2)));
+            past = repo.save(new Reservation(null, "Ana", "Paradise Inn", today.minusDays(9), today.minusDays(8)));
+            repo.archive(today);
+        }
+
+        // When - the log still holds the archived reservation
+        try (WriteAheadLog wal = new WriteAheadLog(dir.resolve("wal")); MappedArchive archive = MappedArchive.open(dir.resolve("archive"))) {
+            ReservationRepository repo = new ReservationRepository(wal, new MapReservationStore(), archive);
+
+            // Then - dropped from the hot set again, and its id is never handed out twice
+            assertEquals(List.of(kept.getId()), ids(repo.findAll()));
+            assertTrue(repo.isArchived(past.getId()));
+            assertEquals(1, repo.countByStatus(ReservationStatus.ACTIVE));
+            assertTrue(repo.save(new Reservation(null, "Eva", "Paradise Inn", today.plusDays(1), today.plusDays(2))).getId() > past.getId());
+
+            repo.deleteAll();
+            assertEquals(0, repo.countArchived());
+            assertTrue(repo.findById(past.getId()).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationRepositoryChangesTest {
+
+    private final ReservationRepository repo = new ReservationRepository();
+    private final LocalDate in = LocalDate.now().plusDays(1);
+
+    @Test
+    void testChangesSince_returnsLatestStateOfChangedReservations() {
+        // Given
+        Reservation a = repo.save(new Reservation(null, "Ana", "Paradise Inn", in, in.plusDays(2)));
+        long cursor = repo.changeSequence();
+        Reservation b = repo.save(new Reservation(null, "Luis", "Ocean View", in, in.plusDays(2)));
+        repo.update(a.getId(), r -> r.withStatus(ReservationStatus.CANCELED));
+        repo.update(b.getId(), r -> r.withStatus(ReservationStatus.CANCELED));
+
+        // When
+        long upTo = repo.changeSequence();
+        List<Reservation> changed = repo.changesSince(cursor, upTo).orElseThrow();
+
+        // Then - one entry per reservation, in the order of their latest change
+        assertEquals(List.of(a.getId(), b.getId()), changed.stream().map(Reservation::getId).toList());
+        assertTrue(changed.stream().noneMatch(Reservation::isActive));
+        assertEquals(List.of(), repo.changesSince(upTo, upTo).orElseThrow());
+        assertTrue(upTo > cursor);
+    }
+
+    @Test
+    void testChangesSince_unknownOrClearedHistoryNeedsResync() {
+        // Given
+        repo.save(new Reservation(null, "Ana", "Paradise Inn", in, in.plusDays(2)));
+        long before = repo.changeSequence();
+
+        // When
+        repo.deleteAll();
+
+        // Then
+        long now = repo.changeSequence();
+        assertTrue(repo.changesSince(before, now).isEmpty());
+        assertTrue(repo.changesSince(now + 1, now).isEmpty());
+        assertTrue(repo.changesSince(now, now).isPresent());
+    }
+
+    @Test
+    void testChangesSince_cursorFromBeforeRestartNeedsResync() {
+        // Given
+        long earlier = repo.changeSequence();
+        repo.save(new Reservation(null, "Ana", "Paradise Inn", in, in.plusDays(2)));
+
+        // When
+        ReservationRepository restarted = new ReservationRepository();
+
+        // Then
+        assertTrue(restarted.changesSince(earlier, restarted.changeSequence()).isEmpty());
+    }
+
+    @Test
+    void testChangeLog_runsNumberChangesInSeparateBlocks() {
+        // Given - a run's epoch is random, so the next run may land below or above it
+        ChangeLog earlier = new ChangeLog(5);
+        for (long id = 1; id <= 1000; id++) earlier.publish(earlier.claim(), id);
+        long cursor = earlier.sequence();
+
+        // When
+        ChangeLog below = new ChangeLog(4);
+        ChangeLog above = new ChangeLog(6);
+        below.publish(below.claim(), 1L);
+
+        // Then - either way the old cursor is outside [resetAt, sequence] and gets a full resync
+        assertTrue(cursor > below.sequence());
+        assertTrue(cursor < above.resetAt());
+        assertTrue(new ChangeLog().sequence() < 1L << 53);
+    }
+
+    @Test
+    void testChangeLog_sequenceWaitsForEveryEarlierChange() {
+        // Given
+        ChangeLog log = new ChangeLog(3);
+        long start = log.sequence();
+        long first = log.claim();
+        long second = log.claim();
+
+        // When - the later change is published first
+        log.publish(second, 2L);
+
+        // Then
+        assertEquals(start, log.sequence());
+        log.publish(first, 1L);
+        assertEquals(second, log.sequence());
+        assertEquals(List.of(1L, 2L), log.changedBetween(start, second).orElseThrow());
+    }
+
+    @Test
+    void testChangesSince_concurrentWritersToDifferentHotelsAreAllSeen() throws InterruptedException {
+        // Given
+        long cursor = repo.changeSequence();
+        int threads = 8;
+        int perThread = 2_000;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String hotel = "Hotel " + t;
+            writers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) repo.save(new Reservation(null, "Ana", hotel, in, in.plusDays(2)));
+            }));
+        }
+
+        // When
+        for (Thread w : writers) w.join();
+
+        // Then
+        long upTo = repo.changeSequence();
+        assertEquals(cursor + threads * perThread, upTo);
+        assertEquals(threads * perThread, repo.changesSince(cursor, upTo).orElseThrow().size());
+    }
+}
@@ -0,0 +1,169 @@
+package com.bookingmx.reservations.repo;
+
+import com.bookingmx.reservations.exception.ConflictException;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationRepositoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 500;
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 1, 1);
+
+    private static final List<Supplier<ReservationStore>> STORES = List.of(MapReservationStore::new, ColumnarReservationStore::new);
+
+    private static Reservation oneMoreNight(Reservation r) {
+        return new Reservation(r.getId(), r.getGuestName(), r.getHotelName(), r.getCheckIn(), r.getCheckOut().plusDays(1),
+                r.getStatus(), r.getVersion());
+    }
+
+    /** Runs {@code task} on {@link #THREADS} threads released together and waits for all of them. */
+    private static void race(Callable<Void> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUpdate_noLostUpdates() throws Exception {
+        for (Supplier<ReservationStore> store : STORES) {
+            // Given
+            ReservationRepository repo = new ReservationRepository(ReservationJournal.NONE, store.get());
+            Long id = repo.save(new Reservation(null, "Juan", "Hotel A", CHECK_IN, CHECK_IN.plusDays(1))).getId();
+
+            // When - every thread adds nights through atomic transitions
+            race(() -> {
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) repo.update(id, ReservationRepositoryConcurrencyTest::oneMoreNight);
+                return null;
+            });
+
+            // Then
+            int updates = THREADS * UPDATES_PER_THREAD;
+            Reservation r = repo.findById(id).orElseThrow();
+            assertEquals(CHECK_IN.plusDays(1 + updates), r.getCheckOut());
+            assertEquals(1L + updates, r.getVersion());
+            assertEquals(1, repo.findOverlapping("Hotel A", CHECK_IN, CHECK_IN.plusDays(1)).size());
+        }
+    }
+
+    @Test
+    void testSave_staleVersionIsRejected() throws Exception {
+        for (Supplier<ReservationStore> store : STORES) {
+            // Given
+            ReservationRepository repo = new ReservationRepository(ReservationJournal.NONE, store.get());
+            Long id = repo.save(new Reservation(null, "Juan", "Hotel A", CHECK_IN, CHECK_IN.plusDays(1))).getId();
+            AtomicInteger conflicts = new AtomicInteger();
+
+            // When - read-modify-write, retrying whenever another thread won the race
+            race(() -> {
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    while (true) {
+                        Reservation current = repo.findById(id).orElseThrow();
+                        try {
+                            repo.save(oneMoreNight(current));
+                            break;
+                        } catch (ConflictException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            });
+
+            // Then - each successful save built on the one before it
+            int updates = THREADS * UPDATES_PER_THREAD;
+            Reservation r = repo.findById(id).orElseThrow();
+            assertEquals(CHECK_IN.plusDays(1 + updates), r.getCheckOut());
+            assertEquals(1L + updates, r.getVersion());
+        }
+    }
+
+    @Test
+    void testUpdate_neverLandsOnCanceledReservation() throws Exception {
+        for (Supplier<ReservationStore> store : STORES) {
+            // Given
+            ReservationRepository repo = new ReservationRepository(ReservationJournal.NONE, store.get());
+            Long id = repo.save(new Reservation(null, "Juan", "Hotel A", CHECK_IN, CHECK_IN.plusDays(1))).getId();
+            AtomicInteger applied = new AtomicInteger();
+            AtomicInteger turn = new AtomicInteger();
+
+            // When - one thread cancels midway while the others keep updating active-only
+            race(() -> {
+                boolean canceller = turn.getAndIncrement() == 0;
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    if (canceller && i == UPDATES_PER_THREAD / 2) {
+                        repo.update(id, r -> r.withStatus(ReservationStatus.CANCELED));
+                        continue;
+                    }
+                    try {
+                        repo.update(id, r -> {
+                            if (!r.isActive()) throw new IllegalStateException("canceled");
+                            return oneMoreNight(r);
+                        });
+                        applied.incrementAndGet();
+                    } catch (IllegalStateException expected) {
+                        // refused atomically: nothing was stored
+                    }
+                }
+                return null;
+            });
+
+            // Then - every version is accounted for and nothing changed after the cancel
+            Reservation r = repo.findById(id).orElseThrow();
+            assertEquals(ReservationStatus.CANCELED, r.getStatus());
+            assertEquals(1L + applied.get() + 1, r.getVersion());
+            assertEquals(CHECK_IN.plusDays(1 + applied.get()), r.getCheckOut());
+            assertTrue(repo.findOverlapping("Hotel A", CHECK_IN, CHECK_IN.plusDays(1)).isEmpty());
+        }
+    }
+
+    @Test
+    void testWithHotels_checkThenWriteIsAtomicPerHotel() throws Exception {
+        for (Supplier<ReservationStore> store : STORES) {
+            // Given - a capacity of 10 rooms per night in each of two hotels
+            ReservationRepository repo = new ReservationRepository(ReservationJournal.NONE, store.get());
+            int capacity = 10;
+            AtomicInteger turn = new AtomicInteger();
+
+            // When - every thread keeps booking until its hotel looks full
+            race(() -> {
+                String hotel = turn.getAndIncrement() % 2 == 0 ? "Hotel A" : "Hotel B";
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    repo.withHotels(List.of(hotel), () ->
+                            repo.findOverlapping(hotel, CHECK_IN, CHECK_IN.plusDays(1)).size() < capacity
+                                    ? repo.save(new Reservation(null, "Juan", hotel, CHECK_IN, CHECK_IN.plusDays(1)))
+                                    : null);
+                }
+                return null;
+            });
+
+            // Then - no hotel was overbooked and ids stayed unique across the shards
+            assertEquals(capacity, repo.findByHotel("Hotel A").size());
+            assertEquals(capacity, repo.findByHotel("Hotel B").size());
+            assertEquals(2L * capacity, repo.findAll().stream().map(Reservation::getId).distinct().count());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.bookingmx.reservations.repo.archive;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private final LocalDate in = LocalDate.of(2025, 3, 1);
+
+    private Reservation reservation(long id, long version) {
+        return new Reservation(id, id % 2 == 0 ? "Ana" : null, "Hotel " + id % 3, in, in.plusDays(2), ReservationStatus.CANCELED, version);
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> list = Files.list(dir)) {
+            return list.map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    void testFind_decodesOnlyArchivedIds() throws IOException {
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            // When
+            archive.append(List.of(reservation(2, 1), reservation(5, 3), reservation(9, 2)));
+
+            // Then
+            Reservation found = archive.find(5);
+            assertEquals("Hotel 2", found.getHotelName());
+            assertNull(found.getGuestName());
+            assertEquals(in.plusDays(2), found.getCheckOut());
+            assertEquals(ReservationStatus.CANCELED, found.getStatus());
+            assertEquals(3L, found.getVersion());
+            assertEquals("Ana", archive.find(2).getGuestName());
+            assertNull(archive.find(1));
+            assertNull(archive.find(4));
+            assertNull(archive.find(10));
+            assertEquals(9, archive.maxId());
+            assertEquals(3, archive.size());
+        }
+    }
+
+    @Test
+    void testAppend_newestCopyWinsAndSegmentsAreMerged() throws IOException {
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            // Given - id 1 archived once per segment, at an increasing version
+            for (long v = 1; v <= MappedArchive.MAX_SEGMENTS; v++) archive.append(List.of(reservation(1, v), reservation(10 + v, 1)));
+            assertEquals(MappedArchive.MAX_SEGMENTS, files().size());
+            assertEquals(MappedArchive.MAX_SEGMENTS, archive.find(1).getVersion());
+
+            // When - one segment too many
+            archive.append(List.of(reservation(1, 99), reservation(100, 1)));
+
+            // Then - one file, one copy per id
+            assertEquals(List.of("archive-" + (MappedArchive.MAX_SEGMENTS + 2) + ".seg"), files());
+            assertEquals(MappedArchive.MAX_SEGMENTS + 2, archive.size());
+            assertEquals(99L, archive.find(1).getVersion());
+            assertNotNull(archive.find(15));
+            assertEquals(100, archive.maxId());
+        }
+    }
+
+    @Test
+    void testAppend_keepsSegmentsTooLargeToMerge() throws IOException {
+        try (MappedArchive archive = MappedArchive.open(dir, 16 * 1024)) {
+            // Given - one segment over the merge size, then small ones on top of it
+            archive.append(LongStream.rangeClosed(1, 1000).mapToObj(id -> reservation(id, 1)).toList());
+            for (long i = 1; i <= MappedArchive.MAX_SEGMENTS; i++) archive.append(List.of(reservation(7, 1 + i), reservation(1000 + i, 1)));
+            assertEquals(MappedArchive.MAX_SEGMENTS + 1, files().size());
+
+            // When - the small ones outnumber the limit
+            archive.append(List.of(reservation(7, 99), reservation(2000, 1)));
+
+            // Then - they are merged; the large one is kept rather than rewritten
+            assertEquals(List.of("archive-1.seg", "archive-" + (MappedArchive.MAX_SEGMENTS + 3) + ".seg"), files());
+            assertEquals(99L, archive.find(7).getVersion());
+            assertEquals(1L, archive.find(500).getVersion());
+            assertNotNull(archive.find(1003));
+            assertEquals(2000, archive.maxId());
+        }
+    }
+
+    @Test
+    void testOpen_keepsEarlierSegmentsAndDropsPartialWrites() throws IOException {
+        // Given
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            archive.append(LongStream.rangeClosed(1, 1000).mapToObj(id -> reservation(id, 1)).toList());
+            archive.append(List.of(reservation(7, 2)));
+        }
+        Files.writeString(dir.resolve("archive-3.seg.tmp"), "torn");
+
+        // When
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            // Then
+            assertEquals(List.of("archive-1.seg", "archive-2.seg"), files());
+            assertEquals(2L, archive.find(7).getVersion());
+            assertEquals(1L, archive.find(1000).getVersion());
+            assertEquals(1000, archive.maxId());
+
+            archive.clear();
+            assertEquals(List.of(), files());
+            assertNull(archive.find(7));
+            assertEquals(0, archive.maxId());
+        }
+    }
+
+    @Test
+    void testFind_keepsVersionsPastIntRange() throws IOException {
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            archive.append(List.of(reservation(3, Integer.MAX_VALUE + 5L)));
+
+            assertEquals(Integer.MAX_VALUE + 5L, archive.find(3).getVersion());
+        }
+    }
+
+    @Test
+    void testOpen_rejectsOtherFormatVersions() throws IOException {
+        // Given
+        ByteBuffer header = ByteBuffer.allocate(ArchiveSegment.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(ArchiveSegment.MAGIC).putInt(ArchiveSegment.VERSION + 1);
+        Files.write(dir.resolve("archive-1.seg"), header.array());
+
+        // When & Then
+        assertThrows(IOException.class, () -> MappedArchive.open(dir));
+    }
+
+    @Test
+    void testAppend_rejectsUnsortedIds() throws IOException {
+        try (MappedArchive archive = MappedArchive.open(dir)) {
+            assertThrows(IllegalArgumentException.class, () -> archive.append(List.of(reservation(3, 1), reservation(2, 1))));
+            archive.append(List.of());
+            assertEquals(0, archive.size());
+        }
+    }
+
+    @Test
+    void testTemporary_deletedOnClose() throws IOException {
+        Path location;
+        try (MappedArchive archive = MappedArchive.temporary()) {
+            archive.append(List.of(reservation(1, 1)));
+            assertNotNull(archive.find(1));
+            try (Stream<Path> list = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+                location = list.filter(p -> p.getFileName().toString().startsWith("bookingmx-archive"))
+                        .filter(p -> Files.exists(p.resolve("archive-1.seg"))).findFirst().orElseThrow();
+            }
+        }
+        assertFalse(Files.exists(location));
+        assertThrows(IllegalStateException.class, () -> ReservationArchive.NONE.append(List.of()));
+        assertNull(ReservationArchive.NONE.find(1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.bookingmx.reservations.repo.journal;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    private static Map<Long, Reservation> read(Path path) throws IOException {
+        Map<Long, Reservation> loaded = new ConcurrentHashMap<>();
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            SnapshotFile.read(ch, r -> loaded.put(r.getId(), r));
+        }
+        return loaded;
+    }
+
+    @Test
+    void testRoundTrip_acrossParallelRanges() throws IOException {
+        // Given - enough records to be split over several decode tasks
+        LocalDate base = LocalDate.of(2030, 1, 1);
+        List<Reservation> live = new ArrayList<>();
+        for (long id = 1; id <= 200_000; id++) {
+            live.add(new Reservation(id, "Guest " + (id % 5000), "Hotel " + (id % 40),
+                    base.plusDays(id % 365), base.plusDays(id % 365 + 2),
+                    id % 7 == 0 ? ReservationStatus.CANCELED : ReservationStatus.ACTIVE, id % 3));
+        }
+        Path path = dir.resolve("snapshot.bin");
+
+        // When
+        SnapshotFile.write(path, live);
+        Map<Long, Reservation> loaded = read(path);
+
+        // Then
+        assertEquals(live.size(), loaded.size());
+        for (Reservation expected : live) {
+            Reservation actual = loaded.get(expected.getId());
+            assertEquals(expected.getGuestName(), actual.getGuestName());
+            assertEquals(expected.getHotelName(), actual.getHotelName());
+            assertEquals(expected.getCheckIn(), actual.getCheckIn());
+            assertEquals(expected.getCheckOut(), actual.getCheckOut());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getVersion(), actual.getVersion());
+        }
+        // fixed-width records plus one table entry per distinct name
+        assertTrue(Files.size(path) < SnapshotFile.HEADER_BYTES + 200_000L * SnapshotFile.RECORD_BYTES + 5040L * 16);
+    }
+
+    @Test
+    void testRoundTrip_sharedAndNullNames() throws IOException {
+        // Given
+        LocalDate in = LocalDate.of(2030, 5, 1);
+        Reservation a = new Reservation(1L, "Juan", "Hotel A", in, in.plusDays(1));
+        Reservation b = new Reservation(2L, null, "Hotel A", in, in.plusDays(3));
+        Path path = dir.resolve("snapshot.bin");
+
+        // When
+        SnapshotFile.write(path, List.of(a, b));
+        Map<Long, Reservation> loaded = read(path);
+
+        // Then - equal names decode to one shared instance
+        assertNull(loaded.get(2L).getGuestName());
+        assertSame(loaded.get(1L).getHotelName(), loaded.get(2L).getHotelName());
+    }
+
+    @Test
+    void testRoundTrip_keepsVersionsPastIntRange() throws IOException {
+        LocalDate in = LocalDate.of(2030, 5, 1);
+        long version = Integer.MAX_VALUE + 10L;
+        Path path = dir.resolve("snapshot.bin");
+
+        SnapshotFile.write(path, List.of(new Reservation(1L, "Juan", "Hotel A", in, in.plusDays(1), ReservationStatus.ACTIVE, version)));
+
+        assertEquals(version, read(path).get(1L).getVersion());
+    }
+
+    @Test
+    void testRead_rejectsUnknownFormat() throws IOException {
+        // Given
+        Path path = dir.resolve("snapshot.bin");
+        Files.write(path, new byte[SnapshotFile.HEADER_BYTES]);
+        Path older = dir.resolve("older.bin");
+        Files.write(older, ByteBuffer.allocate(SnapshotFile.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(SnapshotFile.MAGIC).putInt(SnapshotFile.VERSION - 1).array());
+
+        // When & Then
+        assertThrows(IOException.class, () -> read(path));
+        assertThrows(IOException.class, () -> read(older));
+    }
+}
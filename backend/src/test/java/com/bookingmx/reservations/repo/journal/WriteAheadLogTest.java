@@ -0,0 +1,178 @@
+package com.bookingmx.reservations.repo.journal;
+
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.model.ReservationStatus;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static Reservation reservation(String guest, String hotel) {
+        return new Reservation(null, guest, hotel, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> list = Files.list(dir)) {
+            return list.map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    void testReplay_restoresStateAndSequence() throws IOException {
+        // Given
+        Reservation maria;
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+            repo.save(reservation("Juan", "Hotel A"));
+            maria = repo.save(reservation("Maria", "Hotel B"));
+            repo.save(maria.withStatus(ReservationStatus.CANCELED));
+        }
+
+        // When
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+
+            // Then
+            assertEquals(2, repo.findAll().size());
+            assertEquals(ReservationStatus.CANCELED, repo.findById(maria.getId()).orElseThrow().getStatus());
+            assertEquals(2L, repo.findById(maria.getId()).orElseThrow().getVersion());
+            assertEquals(1, repo.findByHotel("Hotel A").size());
+            assertTrue(repo.save(reservation("Pedro", "Hotel A")).getId() > maria.getId());
+        }
+    }
+
+    @Test
+    void testCompact_snapshotReplacesOlderSegments() throws IOException {
+        // Given
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+            for (int i = 0; i < 50; i++) repo.save(reservation("Guest " + i, "Hotel A"));
+
+            // When
+            repo.compact();
+            repo.save(reservation("Late", "Hotel B"));
+        }
+
+        // Then
+        assertEquals(List.of("journal-2.log", "snapshot-2.bin"), files());
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+            assertEquals(51, repo.findAll().size());
+            assertEquals(1, repo.findByHotel("Hotel B").size());
+        }
+    }
+
+    @Test
+    void testReplay_dropsTornTail() throws IOException {
+        // Given
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+            repo.save(reservation("Juan", "Hotel A"));
+        }
+        Path segment = dir.resolve("journal-1.log");
+        long intact = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+
+            // Then
+            assertEquals(1, repo.findAll().size());
+            assertEquals(intact, Files.size(segment));
+        }
+    }
+
+    @Test
+    void testReplay_failsOnDamageBeforeTheTail() throws IOException {
+        // Given
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+            repo.save(reservation("Juan", "Hotel A"));
+            repo.save(reservation("Maria", "Hotel B"));
+        }
+        Path segment = dir.resolve("journal-1.log");
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[JournalCodec.HEADER_BYTES + 2] ^= 1; // inside the first record's payload
+        Files.write(segment, bytes);
+
+        // When & Then - cutting here would silently drop the second write
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            assertThrows(UncheckedIOException.class, () -> new ReservationRepository(wal));
+        }
+        assertEquals(bytes.length, Files.size(segment));
+    }
+
+    @Test
+    void testReplay_dropsZeroFilledTail() throws IOException {
+        // Given
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+            repo.save(reservation("Juan", "Hotel A"));
+        }
+        Path segment = dir.resolve("journal-1.log");
+        long intact = Files.size(segment);
+        Files.write(segment, new byte[4096], StandardOpenOption.APPEND);
+
+        // When
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+
+            // Then
+            assertEquals(1, repo.findAll().size());
+            assertEquals(intact, Files.size(segment));
+        }
+    }
+
+    @Test
+    void testAppend_refusedAfterAFailedWrite() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            // Given - the next segment cannot be opened, so the rotation write fails
+            ReservationRepository repo = new ReservationRepository(wal);
+            repo.save(reservation("Juan", "Hotel A"));
+            Files.createDirectory(dir.resolve("journal-2.log"));
+            assertThrows(CompletionException.class, repo::compact);
+
+            // When & Then
+            assertFalse(repo.isJournalHealthy());
+            assertThrows(UncheckedIOException.class, () -> repo.save(reservation("Maria", "Hotel B")));
+            assertEquals(1, repo.findAll().size());
+        }
+    }
+
+    @Test
+    void testDeleteAll_isJournaled() throws IOException {
+        // Given
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+            repo.save(reservation("Juan", "Hotel A"));
+            repo.deleteAll();
+            repo.save(reservation("Maria", "Hotel B"));
+        }
+
+        // When
+        try (WriteAheadLog wal = new WriteAheadLog(dir)) {
+            ReservationRepository repo = new ReservationRepository(wal);
+
+            // Then
+            assertEquals(1, repo.findAll().size());
+            assertEquals("Maria", repo.findById(1L).orElseThrow().getGuestName());
+        }
+    }
+}
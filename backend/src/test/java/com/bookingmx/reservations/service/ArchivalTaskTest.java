@@ -0,0 +1,81 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.dto.BatchItemRequest;
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.exception.ConflictException;
+import com.bookingmx.reservations.exception.NotFoundException;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.MapReservationStore;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import com.bookingmx.reservations.repo.archive.MappedArchive;
+import com.bookingmx.reservations.repo.journal.ReservationJournal;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchivalTaskTest {
+
+    private final LocalDate in = LocalDate.now().plusDays(10);
+    private final List<Object> published = new ArrayList<>();
+    private MappedArchive archive;
+    private ReservationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archive = MappedArchive.temporary();
+        service = new ReservationService(new ReservationRepository(ReservationJournal.NONE, new MapReservationStore(), archive),
+                Validation.buildDefaultValidatorFactory().getValidator(), new NameInterner(100), new HotelInventory(""), published::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+    }
+
+    private static ReservationRequest request(String guest, LocalDate in) {
+        ReservationRequest req = new ReservationRequest();
+        req.setGuestName(guest);
+        req.setHotelName("Casita");
+        req.setCheckIn(in);
+        req.setCheckOut(in.plusDays(2));
+        return req;
+    }
+
+    @Test
+    void testArchive_canceledReservationBecomesReadOnly() {
+        // Given
+        Reservation kept = service.create(request("Ana", in));
+        Reservation canceled = service.cancel(service.create(request("Luis", in)).getId());
+        published.clear();
+
+        // When
+        new ArchivalTask(service, 30).archive();
+
+        // Then
+        ReservationsArchivedEvent event = (ReservationsArchivedEvent) published.get(0);
+        assertEquals(List.of(canceled), event.getArchived());
+        assertEquals(List.of(kept), service.list());
+        assertEquals(canceled, service.getById(canceled.getId()).orElseThrow());
+        assertThrows(ConflictException.class, () -> service.cancel(canceled.getId()));
+        assertThrows(ConflictException.class, () -> service.update(canceled.getId(), request("Luis", in)));
+        assertThrows(NotFoundException.class, () -> service.cancel(999L));
+
+        BatchItemRequest item = new BatchItemRequest();
+        item.setOp(BatchItemRequest.Op.CANCEL);
+        item.setId(canceled.getId());
+        assertEquals(409, service.applyBatch(List.of(item)).get(0).getStatus());
+
+        // When - nothing left to move
+        published.clear();
+        assertEquals(0, service.archive(30));
+        assertEquals(List.of(), published);
+    }
+}
@@ -0,0 +1,59 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.model.Reservation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeRingTest {
+
+    private final LocalDate in = LocalDate.now().plusDays(1);
+
+    @Test
+    void testRead_returnsPublishedChangesInOrder() {
+        // Given
+        ChangeRing ring = new ChangeRing(4);
+
+        // When
+        long first = ring.publish(reservation(1L));
+        long second = ring.publish(reservation(2L));
+
+        // Then
+        assertEquals(0L, first);
+        assertEquals(1L, second);
+        assertEquals(2L, ring.head());
+        assertEquals(1L, ring.read(0).getReservation().getId());
+        assertEquals(2L, ring.read(1).getReservation().getId());
+        assertNull(ring.read(2)); // not published yet
+        assertFalse(ring.isOverrun(2));
+    }
+
+    @Test
+    void testRead_slowReaderIsOverrun() {
+        // Given
+        ChangeRing ring = new ChangeRing(4);
+
+        // When - six changes into four slots
+        for (long id = 1; id <= 6; id++) ring.publish(reservation(id));
+
+        // Then - sequences 0 and 1 were overwritten by 4 and 5
+        assertNull(ring.read(0));
+        assertTrue(ring.isOverrun(0));
+        assertTrue(ring.isOverrun(1));
+        assertFalse(ring.isOverrun(2));
+        assertEquals(3L, ring.read(2).getReservation().getId());
+        assertEquals(6L, ring.read(5).getReservation().getId());
+    }
+
+    @Test
+    void testConstructor_capacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeRing(6));
+        assertEquals(8, new ChangeRing(8).capacity());
+    }
+
+    private Reservation reservation(long id) {
+        return new Reservation(id, "Ana", "Paradise Inn", in, in.plusDays(2));
+    }
+}
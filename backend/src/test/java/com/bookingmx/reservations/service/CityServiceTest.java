@@ -0,0 +1,44 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.dto.NearbyCityResponse;
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.exception.NotFoundException;
+import com.bookingmx.reservations.graph.CityGraph;
+import com.bookingmx.reservations.graph.RoadNetwork.Road;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CityServiceTest {
+
+    private final CityService service = new CityService(CityGraph.build(List.of("A", "B", "C", "D"),
+            List.of(new Road("A", "B", 10), new Road("B", "C", 30), new Road("C", "D", 45))), 50, 1000, 100);
+
+    private static List<String> cities(List<NearbyCityResponse> nearby) {
+        return nearby.stream().map(c -> c.getCity() + "=" + c.getDistance()).toList();
+    }
+
+    @Test
+    void testNearby_radiiInOneBandShareTheSearch() {
+        // When & Then - 10, 40 and 50 km are all answered from the 0-50 km band
+        assertEquals(List.of("B=10.0"), cities(service.nearby("A", 39)));
+        assertEquals(List.of("B=10.0", "C=40.0"), cities(service.nearby("A", 40)));
+        assertEquals(List.of("B=10.0", "C=40.0"), cities(service.nearby("A", 50)));
+        assertEquals(List.of("B=10.0", "C=40.0", "D=85.0"), cities(service.nearby("A", 85)));
+        assertEquals(List.of(), service.nearby("A", 0));
+    }
+
+    @Test
+    void testNearby_rejectsUnknownCityAndBadRadius() {
+        assertThrows(NotFoundException.class, () -> service.nearby("Z", 10));
+        assertThrows(BadRequestException.class, () -> service.nearby("A", -1));
+        assertThrows(BadRequestException.class, () -> service.nearby("A", Double.NaN));
+        assertThrows(BadRequestException.class, () -> service.nearby("A", 1000.5));
+        assertThrows(BadRequestException.class, () -> service.nearby("A", 1e300));
+        assertEquals(3, service.nearby("A", 1000).size());
+        assertThrows(IllegalArgumentException.class, () -> new CityService(CityGraph.build(List.of(), List.of()), 0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CityService(CityGraph.build(List.of(), List.of()), 50, -1, 10));
+    }
+}
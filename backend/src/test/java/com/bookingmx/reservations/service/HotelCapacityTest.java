@@ -0,0 +1,122 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.dto.BatchItemRequest;
+import com.bookingmx.reservations.dto.ReservationRequest;
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.exception.ConflictException;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelCapacityTest {
+
+    private final LocalDate in = LocalDate.now().plusDays(10);
+    private HotelInventory inventory;
+    private ReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new HotelInventory("Casita:2, Ocean View : 1");
+        service = new ReservationService(new ReservationRepository(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new NameInterner(100), inventory);
+    }
+
+    private static ReservationRequest request(String hotel, LocalDate in, LocalDate out) {
+        ReservationRequest req = new ReservationRequest();
+        req.setGuestName("Ana");
+        req.setHotelName(hotel);
+        req.setCheckIn(in);
+        req.setCheckOut(out);
+        return req;
+    }
+
+    @Test
+    void testCreate_refusedOnlyWhileANightIsFull() {
+        // Given - two rooms, both taken on the third night
+        service.create(request("Casita", in, in.plusDays(3)));
+        service.create(request("Casita", in.plusDays(2), in.plusDays(4)));
+
+        // When & Then
+        ConflictException e = assertThrows(ConflictException.class, () -> service.create(request("Casita", in.plusDays(1), in.plusDays(3))));
+        assertEquals("No rooms available at Casita on " + in.plusDays(2), e.getMessage());
+        assertNotNull(service.create(request("Casita", in, in.plusDays(2))));
+        assertNotNull(service.create(request("Paradise Inn", in, in.plusDays(3)))); // not in the inventory
+    }
+
+    @Test
+    void testCancelAndUpdate_releaseAndReuseTheirOwnNights() {
+        // Given
+        Reservation only = service.create(request("Ocean View", in, in.plusDays(2)));
+        assertThrows(ConflictException.class, () -> service.create(request("Ocean View", in, in.plusDays(1))));
+
+        // When - moving the stay within its own nights needs no extra room
+        service.update(only.getId(), request("Ocean View", in.plusDays(1), in.plusDays(3)));
+        service.create(request("Ocean View", in, in.plusDays(1)));
+        service.cancel(only.getId());
+
+        // Then
+        assertNotNull(service.create(request("Ocean View", in.plusDays(1), in.plusDays(3))));
+        assertArrayEquals(new int[]{1, 1, 1, 0}, service.availability("Ocean View", in, in.plusDays(4)).getBooked());
+    }
+
+    @Test
+    void testApplyBatch_countsEarlierItems() {
+        // Given
+        BatchItemRequest first = new BatchItemRequest();
+        first.setGuestName("Ana");
+        first.setHotelName("Ocean View");
+        first.setCheckIn(in);
+        first.setCheckOut(in.plusDays(1));
+        BatchItemRequest second = new BatchItemRequest();
+        second.setGuestName("Beto");
+        second.setHotelName("Ocean View");
+        second.setCheckIn(in);
+        second.setCheckOut(in.plusDays(2));
+
+        // When
+        List<BatchOutcome> outcomes = service.applyBatch(List.of(first, second));
+
+        // Then
+        assertEquals(201, outcomes.get(0).getStatus());
+        assertEquals(409, outcomes.get(1).getStatus());
+        assertEquals(1, service.list().size());
+    }
+
+    @Test
+    void testAvailability_validatesRange() {
+        // Given
+        inventory.register("Casita", 5);
+
+        // When & Then
+        assertEquals(5, service.availability("Casita", in, in.plusDays(1)).getRooms());
+        assertNull(service.availability("Nowhere", in, in.plusDays(1)).getRooms());
+        assertThrows(BadRequestException.class, () -> service.availability("Casita", in, in));
+        assertThrows(BadRequestException.class, () -> service.availability("Casita", in, in.plusDays(ReservationService.MAX_AVAILABILITY_NIGHTS + 1)));
+    }
+
+    @Test
+    void testFindAvailable_keepsHotelsWithEnoughRoomsEveryNight() {
+        // Given - Casita has one room left on the middle night, Ocean View none
+        service.create(request("Casita", in.plusDays(1), in.plusDays(2)));
+        service.create(request("Ocean View", in.plusDays(2), in.plusDays(3)));
+        service.create(request("Paradise Inn", in, in.plusDays(3)));
+
+        // When
+        List<Vacancy> one = service.findAvailable(in, in.plusDays(3), 1);
+        List<Vacancy> two = service.findAvailable(in, in.plusDays(3), 2);
+
+        // Then - only hotels with a room count are searched
+        assertEquals(List.of("Casita"), one.stream().map(v -> v.getHotel().getName()).toList());
+        assertEquals(1, one.get(0).getFree());
+        assertTrue(two.isEmpty());
+        assertEquals(2, service.findAvailable(in.plusDays(3), in.plusDays(4), 1).size());
+        assertThrows(BadRequestException.class, () -> service.findAvailable(in, in.plusDays(1), 0));
+    }
+}
@@ -0,0 +1,46 @@
+package com.bookingmx.reservations.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameInternerTest {
+
+    @Test
+    void testIntern_equalNamesShareOneInstance() {
+        // Given
+        NameInterner interner = new NameInterner(10);
+        String first = new String("Paradise Inn");
+        String second = new String("Paradise Inn");
+
+        // When
+        String a = interner.intern(first);
+        String b = interner.intern(second);
+
+        // Then
+        assertSame(first, a);
+        assertSame(first, b);
+        assertEquals(1, interner.size());
+        assertEquals(1L, interner.stats().get("hits"));
+        assertEquals(56L, interner.stats().get("savedBytes")); // 40 + 12 chars, 8-byte aligned
+        assertNull(interner.intern(null));
+    }
+
+    @Test
+    void testIntern_boundedPassesNewNamesThrough() {
+        // Given
+        NameInterner interner = new NameInterner(2);
+        interner.intern("A");
+        interner.intern("B");
+
+        // When
+        String c = new String("C");
+        String result = interner.intern(c);
+
+        // Then - known names still canonicalize, new ones are returned as-is
+        assertSame(c, result);
+        assertEquals(2, interner.size());
+        assertEquals(1L, interner.stats().get("overflow"));
+        assertSame(interner.intern("A"), interner.intern(new String("A")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookingmx.reservations.service;
+
+import com.bookingmx.reservations.exception.BadRequestException;
+import com.bookingmx.reservations.exception.NotFoundException;
+import com.bookingmx.reservations.graph.CityGraph;
+import com.bookingmx.reservations.graph.RoadNetwork.Road;
+import com.bookingmx.reservations.model.Reservation;
+import com.bookingmx.reservations.repo.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearbyHotelServiceTest {
+
+    private final LocalDate in = LocalDate.now().plusDays(10);
+    private ReservationRepository repo;
+    private HotelInventory inventory;
+    private NearbyHotelService service;
+
+    @BeforeEach
+    void setUp() {
+        repo = new ReservationRepository();
+        inventory = new HotelInventory("Casita:2@B, Posada:1@A, Faro:3@D, Loose:5");
+        CityService cities = new CityService(CityGraph.build(List.of("A", "B", "C", "D"),
+                List.of(new Road("A", "B", 10), new Road("B", "C", 30), new Road("C", "D", 45))), 50, 1000, 100);
+        service = new NearbyHotelService(cities, inventory, repo);
+    }
+
+    private static List<String> hotels(List<NearbyHotel> nearby) {
+        return nearby.stream().map(h -> h.getHotel().getName() + "@" + h.getDistance() + " " + h.getBooked() + "/" + h.getFree()).toList();
+    }
+
+    @Test
+    void testNear_destinationFirstThenByDistanceWithLoad() {
+        // Given - Casita has one room taken on the second night only
+        repo.save(new Reservation(null, "Ana", "Casita", in.plusDays(1), in.plusDays(2)));
+        repo.save(new Reservation(null, "Luis", "Faro", in.plusDays(5), in.plusDays(6)));
+
+        // When & Then - the hotel without a city is never found; Faro's stay is outside the range
+        assertEquals(List.of("Posada@0.0 0/1", "Casita@10.0 1/1"), hotels(service.near("A", 40, in, in.plusDays(3))));
+        assertEquals(List.of("Posada@0.0 0/1", "Casita@10.0 1/1", "Faro@85.0 0/3"), hotels(service.near("A", 100, in, in.plusDays(3))));
+        assertEquals(List.of("Casita@0.0 0/2"), hotels(service.near("B", 5, in, in.plusDays(1))));
+    }
+
+    @Test
+    void testRegister_movesHotelBetweenCities() {
+        // When
+        service.register("Casita", 4, "D");
+
+        // Then
+        assertEquals(List.of("Casita@0.0 0/4", "Faro@0.0 0/3"), hotels(service.near("D", 0, in, in.plusDays(1))));
+        assertEquals(List.of(), inventory.inCity("B"));
+        assertEquals("D", inventory.find("Casita").orElseThrow().getCity());
+    }
+
+    @Test
+    void testRejectsUnknownCitiesAndBadRanges() {
+        assertThrows(BadRequestException.class, () -> service.register("Casita", 2, "Atlantis"));
+        assertThrows(NotFoundException.class, () -> service.near("Atlantis", 10, in, in.plusDays(1)));
+        assertThrows(BadRequestException.class, () -> service.near("A", 10, in, in));
+        assertThrows(BadRequestException.class, () -> service.near("A", -1, in, in.plusDays(1)));
+    }
+}
@@ -0,0 +1,44 @@
+package com.bookingmx.reservations.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodayTest {
+
+    /** A clock the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        Instant now;
+
+        ManualClock(Instant now) { this.now = now; }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { throw new UnsupportedOperationException(); }
+        @Override public Instant instant() { return now; }
+    }
+
+    @Test
+    void testGet_changesAtMidnight() {
+        // Given
+        ManualClock clock = new ManualClock(Instant.parse("2026-03-01T23:59:59Z"));
+        Today today = new Today(clock);
+        LocalDate first = today.get();
+
+        // When
+        clock.now = Instant.parse("2026-03-01T23:59:59.999Z");
+        LocalDate sameDay = today.get();
+        clock.now = Instant.parse("2026-03-02T00:00:00Z");
+        LocalDate nextDay = today.get();
+
+        // Then
+        assertEquals(LocalDate.of(2026, 3, 1), first);
+        assertSame(first, sameDay);
+        assertEquals(LocalDate.of(2026, 3, 2), nextDay);
+    }
+}
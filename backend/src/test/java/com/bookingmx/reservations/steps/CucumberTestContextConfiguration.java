@@ -2,11 +2,13 @@ package com.bookingmx.reservations.steps;
 
 import com.bookingmx.reservations.BookingMxApplication;
 import io.cucumber.spring.CucumberContextConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @CucumberContextConfiguration
 @SpringBootTest(classes = BookingMxApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
+@AutoConfigureObservability // tests turn off metric exporters otherwise, and /actuator/prometheus with them
 public class CucumberTestContextConfiguration {
 }
@@ -1,7 +1,11 @@
 package com.bookingmx.reservations.steps;
 
+import com.bookingmx.reservations.controller.ResponseCache;
+import com.bookingmx.reservations.controller.WireFormat;
 import com.bookingmx.reservations.dto.ReservationRequest;
 import com.bookingmx.reservations.repo.ReservationRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.cucumber.java.Before;
 import io.cucumber.java.en.*;
@@ -13,7 +17,11 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -29,8 +37,14 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private final ObjectMapper cbor = WireFormat.cborMapper();
+
+    private static final Pattern DATE_PLACEHOLDER = Pattern.compile("\\{today(?:\\+(\\d+))?}");
+
     private ReservationRequest request;
     private MvcResult mvcResult;
+    private String changeSequence;
+    private MvcResult streamResult;
 
     // Store created reservation IDs - maps scenario ID to actual database ID
     private Map<Integer, Long> createdReservationIds = new HashMap<>();
@@ -38,10 +52,14 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
     @Autowired
     private ReservationRepository repository;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     @Before
     public void setup() {
         request = new ReservationRequest();
         mvcResult = null;
+        changeSequence = null;
         createdReservationIds.clear();
     }
 
@@ -85,37 +103,34 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
         request.setCheckOut(LocalDate.now().plusDays(3));
     }
 
+    @Given("I have a reservation request from {string} to {string}")
+    public void iHaveAReservationRequestFromTo(String checkIn, String checkOut) {
+        request.setGuestName("Juan");
+        request.setHotelName("Paradise Inn");
+        request.setCheckIn(LocalDate.parse(resolvePlaceholders(checkIn)));
+        request.setCheckOut(LocalDate.parse(resolvePlaceholders(checkOut)));
+    }
+
     @Given("the repository is empty")
     public void theRepositoryIsEmpty() {
         repository.deleteAll();
+        responseCache.clear(); // deleteAll bypasses the service, so no change events reach the cache
         createdReservationIds.clear();
     }
 
     @Given("an existing reservation with ID {int}")
     public void anExistingReservationWithId(int expectedId) throws Exception {
-        ReservationRequest newRequest = new ReservationRequest();
-        newRequest.setGuestName("Juan");
-        newRequest.setHotelName("Default Hotel");
-        newRequest.setCheckIn(LocalDate.now().plusDays(1));
-        newRequest.setCheckOut(LocalDate.now().plusDays(2));
-
-        MvcResult result = mockMvc.perform(post("/api/reservations")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(newRequest)))
-                .andExpect(status().isCreated())
-                .andReturn();
-
-        String responseJson = result.getResponse().getContentAsString();
-        System.out.println("Created reservation response: " + responseJson);
-
-        // Extract the actual ID from response
-        Map<String, Object> response = objectMapper.readValue(responseJson, Map.class);
-        Long actualId = ((Number) response.get("id")).longValue();
+        createReservation(expectedId, "Juan", "Default Hotel");
+    }
 
-        // Store the mapping between expected (scenario) ID and actual (database) ID
-        createdReservationIds.put(expectedId, actualId);
+    @Given("a reservation with ID {int} for guest {string} at hotel {string}")
+    public void aReservationWithIdForGuestAtHotel(int expectedId, String guestName, String hotelName) throws Exception {
+        createReservation(expectedId, guestName, hotelName);
+    }
 
-        System.out.println("Mapped scenario ID " + expectedId + " to database ID " + actualId);
+    @Given("a reservation for guest {string} at hotel {string}")
+    public void aReservationForGuestAtHotel(String guestName, String hotelName) throws Exception {
+        createReservation(null, guestName, hotelName);
     }
 
     @Given("I have a valid update request with new hotel name {string}")
@@ -144,10 +159,26 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
                 .andReturn();
     }
 
+    @When("I POST the batch to {string}:")
+    public void iPOSTTheBatchTo(String endpoint, String body) throws Exception {
+        mvcResult = mockMvc.perform(post(endpoint)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(resolvePlaceholders(body)))
+                .andReturn();
+    }
+
+    @When("I PUT the JSON to {string}:")
+    public void iPUTTheJSONTo(String endpoint, String body) throws Exception {
+        mvcResult = mockMvc.perform(put(endpoint)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn();
+    }
+
     @When("I GET {string}")
     public void iGET(String endpoint) throws Exception {
         // Replace scenario ID in endpoint with actual database ID
-        String actualEndpoint = replaceIdInEndpoint(endpoint);
+        String actualEndpoint = resolvePlaceholders(replaceIdInEndpoint(endpoint));
 
         try {
             mvcResult = mockMvc.perform(get(actualEndpoint))
@@ -165,6 +196,21 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
         }
     }
 
+    @When("I GET {string} as CBOR")
+    public void iGETAsCbor(String endpoint) throws Exception {
+        mvcResult = mockMvc.perform(get(resolvePlaceholders(replaceIdInEndpoint(endpoint))).accept(MediaType.APPLICATION_CBOR))
+                .andReturn();
+    }
+
+    @When("I POST the request to {string} as CBOR")
+    public void iPOSTTheRequestAsCbor(String endpoint) throws Exception {
+        mvcResult = mockMvc.perform(post(endpoint)
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(request)))
+                .andReturn();
+    }
+
     @When("I PUT the request to {string}")
     public void iPUTTheRequestTo(String endpoint) throws Exception {
         String actualEndpoint = replaceIdInEndpoint(endpoint);
@@ -183,13 +229,63 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
                 .andReturn();
     }
 
+    @When("I PUT the request to {string} with If-Match version {int}")
+    public void iPUTTheRequestToWithIfMatch(String endpoint, int version) throws Exception {
+        mvcResult = mockMvc.perform(put(replaceIdInEndpoint(endpoint))
+                        .header("If-Match", "\"" + version + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+    }
+
+    @When("I DELETE {string} with If-Match version {int}")
+    public void iDELETEWithIfMatch(String endpoint, int version) throws Exception {
+        mvcResult = mockMvc.perform(delete(replaceIdInEndpoint(endpoint))
+                        .header("If-Match", "\"" + version + "\""))
+                .andReturn();
+    }
+
     // ==================== THEN ====================
 
+    @When("I GET {string} again with the last ETag")
+    public void iGETWithLastETag(String endpoint) throws Exception {
+        String eTag = mvcResult.getResponse().getHeader("ETag");
+        mvcResult = mockMvc.perform(get(resolvePlaceholders(replaceIdInEndpoint(endpoint)))
+                        .header("If-None-Match", eTag))
+                .andReturn();
+    }
+
+    @When("I subscribe to {string}")
+    public void iSubscribeTo(String endpoint) throws Exception {
+        streamResult = mockMvc.perform(get(endpoint)).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    @When("I subscribe to {string} with Last-Event-ID {int}")
+    public void iSubscribeToWithLastEventId(String endpoint, int lastEventId) throws Exception {
+        streamResult = mockMvc.perform(get(endpoint).header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Then("the stream should receive {string} within {int} seconds")
+    public void theStreamShouldReceive(String expected, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        while (!streamResult.getResponse().getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(streamResult.getResponse().getContentAsString(), containsString(expected));
+    }
+
     @Then("the response status should be {int}")
     public void theResponseStatusShouldBe(int expectedStatus) throws Exception {
         assertThat(mvcResult.getResponse().getStatus(), is(expectedStatus));
     }
 
+    @Then("the response ETag should be version {int}")
+    public void theResponseETagShouldBeVersion(int version) {
+        assertThat(mvcResult.getResponse().getHeader("ETag"), equalTo("\"" + version + "\""));
+    }
+
     @Then("the response should contain a reservation ID")
     public void theResponseShouldContainAReservationID() throws Exception {
         String json = mvcResult.getResponse().getContentAsString();
@@ -214,12 +310,88 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
         assertThat(json, containsString(expectedText));
     }
 
+    @Then("the response body should contain {string}")
+    public void theResponseBodyShouldContain(String expectedText) throws Exception {
+        assertThat(mvcResult.getResponse().getContentType(), startsWith(MediaType.TEXT_PLAIN_VALUE));
+        assertThat(mvcResult.getResponse().getContentAsString(), containsString(expectedText));
+    }
+
+    @Then("the response JSON should not contain {string}")
+    public void theResponseJSONShouldNotContain(String unexpectedText) throws Exception {
+        String json = mvcResult.getResponse().getContentAsString();
+        assertThat(json, not(containsString(unexpectedText)));
+    }
+
     @Then("the response JSON should be a list")
     public void theResponseJSONShouldBeAList() throws Exception {
         String json = mvcResult.getResponse().getContentAsString();
         assertThat(json.trim(), startsWith("["));
     }
 
+    @Then("the response JSON should be a list of {int} reservations")
+    public void theResponseJSONShouldBeAListOfReservations(int expectedSize) throws Exception {
+        String json = mvcResult.getResponse().getContentAsString();
+        List<?> reservations = objectMapper.readValue(json, List.class);
+        assertThat(reservations, hasSize(expectedSize));
+    }
+
+    @Then("the batch item statuses should be {string}")
+    public void theBatchItemStatusesShouldBe(String expectedStatuses) throws Exception {
+        String json = mvcResult.getResponse().getContentAsString();
+        List<Map<String, Object>> results = objectMapper.readValue(json, List.class);
+        String statuses = results.stream()
+                .map(item -> String.valueOf(item.get("status")))
+                .collect(Collectors.joining(","));
+        assertThat(statuses, equalTo(expectedStatuses));
+    }
+
+    @Then("the response content type should be {string}")
+    public void theResponseContentTypeShouldBe(String expected) {
+        assertThat(mvcResult.getResponse().getContentType(), startsWith(expected));
+    }
+
+    @Then("the CBOR response should include guest name {string} with epoch-day dates")
+    public void theCborResponseShouldIncludeGuestName(String name) throws Exception {
+        JsonNode body = cbor.readTree(mvcResult.getResponse().getContentAsByteArray());
+        JsonNode reservation = body.isArray() ? body.get(0) : body;
+        assertThat(reservation.get("guestName").asText(), equalTo(name));
+        assertThat(reservation.get("checkIn").isIntegralNumber(), is(true));
+        assertThat(reservation.get("status").asInt(), is(0));
+    }
+
+    @Then("the response should have a next cursor")
+    public void theResponseShouldHaveANextCursor() {
+        assertThat(mvcResult.getResponse().getHeader("X-Next-Cursor"), notNullValue());
+    }
+
+    @Then("the response should not have a next cursor")
+    public void theResponseShouldNotHaveANextCursor() {
+        assertThat(mvcResult.getResponse().getHeader("X-Next-Cursor"), nullValue());
+    }
+
+    @Then("the response should contain {int} NDJSON lines")
+    public void theResponseShouldContainNdjsonLines(int expectedLines) throws Exception {
+        assertThat(mvcResult.getResponse().getContentType(), startsWith("application/x-ndjson"));
+        String body = mvcResult.getResponse().getContentAsString();
+        String[] lines = body.isEmpty() ? new String[0] : body.split("\n");
+        assertThat(lines.length, is(expectedLines));
+        for (String line : lines) {
+            assertThat(objectMapper.readValue(line, new TypeReference<Map<String, Object>>() { }), hasKey("id"));
+        }
+    }
+
+    @Then("I note the change sequence")
+    public void iNoteTheChangeSequence() throws Exception {
+        changeSequence = objectMapper.readTree(mvcResult.getResponse().getContentAsString()).get("sequence").asText();
+    }
+
+    @Then("the change set should hold {int} reservations")
+    public void theChangeSetShouldHold(int count) throws Exception {
+        JsonNode changes = objectMapper.readTree(mvcResult.getResponse().getContentAsString());
+        assertThat(changes.get("full").asBoolean(), is(false));
+        assertThat(changes.get("reservations").size(), is(count));
+    }
+
     @Then("the response JSON should be an empty list")
     public void theResponseJSONShouldBeAnEmptyList() throws Exception {
         String json = mvcResult.getResponse().getContentAsString();
@@ -228,6 +400,37 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
 
     // ==================== HELPER METHODS ====================
 
+    /**
+     * Creates a reservation through the API and, when a scenario ID is given,
+     * maps it to the ID assigned by the backend.
+     */
+    private void createReservation(Integer expectedId, String guestName, String hotelName) throws Exception {
+        ReservationRequest newRequest = new ReservationRequest();
+        newRequest.setGuestName(guestName);
+        newRequest.setHotelName(hotelName);
+        newRequest.setCheckIn(LocalDate.now().plusDays(1));
+        newRequest.setCheckOut(LocalDate.now().plusDays(2));
+
+        MvcResult result = mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String responseJson = result.getResponse().getContentAsString();
+        System.out.println("Created reservation response: " + responseJson);
+        if (expectedId == null) return;
+
+        // Extract the actual ID from response
+        Map<String, Object> response = objectMapper.readValue(responseJson, Map.class);
+        Long actualId = ((Number) response.get("id")).longValue();
+
+        // Store the mapping between expected (scenario) ID and actual (database) ID
+        createdReservationIds.put(expectedId, actualId);
+
+        System.out.println("Mapped scenario ID " + expectedId + " to database ID " + actualId);
+    }
+
     /**
      * Replaces scenario IDs in endpoint paths with actual database IDs.
      * For example, "/api/reservations/3" becomes "/api/reservations/1"
@@ -245,4 +448,28 @@ public class ReservationApiSteps extends CucumberTestContextConfiguration {
         }
         return endpoint;
     }
+
+    /**
+     * Replaces "{cursor}" with the last page's next cursor, "{sequence}" with the noted change
+     * sequence, "{id:3}" with the database ID
+     * mapped to scenario ID 3, and date placeholders such as "{today}" or "{today+2}"
+     * with ISO dates relative to the current day.
+     */
+    private String resolvePlaceholders(String endpoint) {
+        if (mvcResult != null && endpoint.contains("{cursor}")) {
+            endpoint = endpoint.replace("{cursor}", mvcResult.getResponse().getHeader("X-Next-Cursor"));
+        }
+        if (changeSequence != null) endpoint = endpoint.replace("{sequence}", changeSequence);
+        for (Map.Entry<Integer, Long> entry : createdReservationIds.entrySet()) {
+            endpoint = endpoint.replace("{id:" + entry.getKey() + "}", String.valueOf(entry.getValue()));
+        }
+        Matcher m = DATE_PLACEHOLDER.matcher(endpoint);
+        StringBuilder sb = new StringBuilder();
+        while (m.find()) {
+            int days = m.group(1) == null ? 0 : Integer.parseInt(m.group(1));
+            m.appendReplacement(sb, LocalDate.now().plusDays(days).toString());
+        }
+        m.appendTail(sb);
+        return sb.toString();
+    }
 }
\ No newline at end of file
@@ -367,7 +367,8 @@ public class ReservationSteps extends CucumberTestContextConfiguration {
                 reservation.getHotelName(),
                 reservation.getCheckIn(),
                 reservation.getCheckOut(),
-                reservation.getStatus()
+                reservation.getStatus(),
+                reservation.getVersion()
         );
     }
 }
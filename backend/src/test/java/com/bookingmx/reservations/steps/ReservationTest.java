@@ -131,8 +131,7 @@ class ReservationTest {
     void testIsActive_whenCanceled() {
         // Given
         Reservation reservation = new Reservation(1L, "Juan", "Hotel A",
-                LocalDate.now(), LocalDate.now().plusDays(1));
-        reservation.setStatus(ReservationStatus.CANCELED);
+                LocalDate.now(), LocalDate.now().plusDays(1)).withStatus(ReservationStatus.CANCELED);
 
         // When & Then
         assertFalse(reservation.isActive());
@@ -140,25 +139,24 @@ class ReservationTest {
     }
 
     @Test
-    void testSettersAndGetters() {
+    void testWithers_returnCopies() {
         // Given
         Reservation reservation = new Reservation(1L, "Juan", "Hotel A",
                 LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 5));
 
         // When
-        reservation.setId(2L);
-        reservation.setGuestName("Maria");
-        reservation.setHotelName("Hotel B");
-        reservation.setCheckIn(LocalDate.of(2025, 12, 1));
-        reservation.setCheckOut(LocalDate.of(2025, 12, 5));
-        reservation.setStatus(ReservationStatus.CANCELED);
-
-        // Then
-        assertEquals(2L, reservation.getId());
-        assertEquals("Maria", reservation.getGuestName());
-        assertEquals("Hotel B", reservation.getHotelName());
-        assertEquals(LocalDate.of(2025, 12, 1), reservation.getCheckIn());
-        assertEquals(LocalDate.of(2025, 12, 5), reservation.getCheckOut());
-        assertEquals(ReservationStatus.CANCELED, reservation.getStatus());
+        Reservation changed = reservation.withId(2L).withStatus(ReservationStatus.CANCELED).withVersion(3L);
+
+        // Then - the original is untouched, the copy keeps every other field
+        assertEquals(1L, reservation.getId());
+        assertEquals(ReservationStatus.ACTIVE, reservation.getStatus());
+        assertEquals(0L, reservation.getVersion());
+        assertEquals(2L, changed.getId());
+        assertEquals("Juan", changed.getGuestName());
+        assertEquals("Hotel A", changed.getHotelName());
+        assertEquals(LocalDate.of(2025, 11, 1), changed.getCheckIn());
+        assertEquals(LocalDate.of(2025, 11, 5), changed.getCheckOut());
+        assertEquals(ReservationStatus.CANCELED, changed.getStatus());
+        assertEquals(3L, changed.getVersion());
     }
 }
\ No newline at end of file
@@ -28,6 +28,21 @@ Feature: Reservation API
     Then the response status should be 400
     And the response JSON should contain "Check-out must be after check-in"
 
+  Scenario: Fail to create reservation longer than the maximum stay
+    Given the repository is empty
+    And I have a reservation request from "{today+1}" to "9999-12-31"
+    When I POST the request to "/api/reservations"
+    Then the response status should be 400
+    And the response JSON should contain "Stay cannot exceed 731 nights"
+    When I GET "/api/reservations"
+    Then the response JSON should be a list of 0 reservations
+
+  Scenario: Fail to create reservation outside the supported dates
+    Given I have a reservation request from "9999-12-30" to "+10000-01-02"
+    When I POST the request to "/api/reservations"
+    Then the response status should be 400
+    And the response JSON should contain "Dates must be between 0001-01-01 and 9999-12-31"
+
   Scenario: Fail to create reservation with missing hotel name
     Given I have a reservation request with blank hotel name
     When I POST the request to "/api/reservations"
@@ -47,6 +62,102 @@ Feature: Reservation API
     Then the response status should be 200
     And the response JSON should be an empty list
 
+  Scenario: Filter reservations by hotel and guest
+    Given the repository is empty
+    And a reservation for guest "Lupita" at hotel "Mision"
+    And a reservation for guest "Pedro" at hotel "Mision"
+    And a reservation for guest "Lupita" at hotel "Hacienda"
+    When I GET "/api/reservations?hotel=Mision"
+    Then the response status should be 200
+    And the response JSON should be a list of 2 reservations
+    When I GET "/api/reservations?guest=Lupita"
+    Then the response JSON should be a list of 2 reservations
+    When I GET "/api/reservations?hotel=Mision&guest=Lupita"
+    Then the response JSON should be a list of 1 reservations
+    And the response JSON should include hotel name "Mision"
+
+  Scenario: Updating the hotel moves a reservation between hotel filters
+    Given the repository is empty
+    And a reservation with ID 5 for guest "Juan" at hotel "Alameda"
+    And I have a valid update request with new hotel name "Lighthouse"
+    When I PUT the request to "/api/reservations/5"
+    And I GET "/api/reservations?hotel=Alameda"
+    Then the response JSON should be an empty list
+    When I GET "/api/reservations?hotel=Lighthouse&guest=Juan"
+    Then the response JSON should be a list of 1 reservations
+
+  Scenario: Find reservations overlapping a stay at a hotel
+    Given the repository is empty
+    And a reservation for guest "Lupita" at hotel "Mision"
+    And a reservation for guest "Pedro" at hotel "Hacienda"
+    When I GET "/api/reservations/overlaps?hotel=Mision&from={today+1}&to={today+3}"
+    Then the response status should be 200
+    And the response JSON should be a list of 1 reservations
+    And the response JSON should include guest name "Lupita"
+    When I GET "/api/reservations/overlaps?hotel=Mision&from={today+2}&to={today+4}"
+    Then the response JSON should be an empty list
+
+  Scenario: Canceled reservations do not overlap
+    Given the repository is empty
+    And a reservation with ID 6 for guest "Lupita" at hotel "Mision"
+    When I DELETE "/api/reservations/6"
+    And I GET "/api/reservations/overlaps?hotel=Mision&from={today}&to={today+5}"
+    Then the response JSON should be an empty list
+
+  Scenario: Fail to query overlaps with an empty range
+    When I GET "/api/reservations/overlaps?hotel=Mision&from={today+3}&to={today+3}"
+    Then the response status should be 400
+    And the response JSON should contain "'to' must be after 'from'"
+
+  Scenario: List arrivals and departures in a date window
+    Given the repository is empty
+    And a reservation for guest "Lupita" at hotel "Mision"
+    And a reservation for guest "Pedro" at hotel "Mision"
+    When I GET "/api/reservations/arrivals?from={today+1}&to={today+2}"
+    Then the response status should be 200
+    And the response JSON should be a list of 2 reservations
+    And the response JSON should include guest name "Pedro"
+    When I GET "/api/reservations/departures?from={today+2}&to={today+3}"
+    Then the response JSON should be a list of 2 reservations
+    When I GET "/api/reservations/arrivals?from={today+2}&to={today+40}"
+    Then the response JSON should be an empty list
+
+  Scenario: Fail to list departures over an empty range
+    When I GET "/api/reservations/departures?from={today+3}&to={today+3}"
+    Then the response status should be 400
+    And the response JSON should contain "'to' must be after 'from'"
+
+  Scenario: Page through reservations with a cursor
+    Given the repository is empty
+    And a reservation for guest "Ana" at hotel "Mision"
+    And a reservation for guest "Beto" at hotel "Mision"
+    And a reservation for guest "Caro" at hotel "Hacienda"
+    When I GET "/api/reservations?limit=2"
+    Then the response status should be 200
+    And the response JSON should be a list of 2 reservations
+    And the response JSON should include guest name "Ana"
+    And the response should have a next cursor
+    When I GET "/api/reservations?after={cursor}&limit=2"
+    Then the response JSON should be a list of 1 reservations
+    And the response JSON should include guest name "Caro"
+    And the response should not have a next cursor
+
+  Scenario: Fail to page with an invalid limit
+    When I GET "/api/reservations?limit=0"
+    Then the response status should be 400
+    And the response JSON should contain "Limit must be between 1 and 1000"
+
+  Scenario: Export reservations as NDJSON
+    Given the repository is empty
+    And a reservation for guest "Ana" at hotel "Mision"
+    And a reservation for guest "Beto" at hotel "Mision"
+    And a reservation for guest "Caro" at hotel "Hacienda"
+    When I GET "/api/reservations/export"
+    Then the response status should be 200
+    And the response should contain 3 NDJSON lines
+    When I GET "/api/reservations/export?hotel=Mision"
+    Then the response should contain 2 NDJSON lines
+
   # ==================== GET BY ID ====================
 
   Scenario: Retrieve a reservation by ID
@@ -60,6 +171,35 @@ Feature: Reservation API
     Then the response status should be 404
     And the response JSON should contain "Reservation not found"
 
+  # ==================== BATCH ====================
+
+  Scenario: Apply a batch of mixed operations with partial failures
+    Given the repository is empty
+    And a reservation with ID 7 for guest "Ana" at hotel "Mision"
+    And a reservation with ID 8 for guest "Beto" at hotel "Mision"
+    When I POST the batch to "/api/reservations/batch":
+      """
+      [
+        {"guestName": "Caro", "hotelName": "Hacienda", "checkIn": "{today+1}", "checkOut": "{today+3}"},
+        {"op": "UPDATE", "id": {id:7}, "guestName": "Ana", "hotelName": "Lighthouse", "checkIn": "{today+2}", "checkOut": "{today+4}"},
+        {"op": "CANCEL", "id": {id:8}},
+        {"op": "UPDATE", "id": {id:8}, "guestName": "Beto", "hotelName": "Mision", "checkIn": "{today+2}", "checkOut": "{today+4}"},
+        {"guestName": "", "hotelName": "Hacienda", "checkIn": "{today+1}", "checkOut": "{today+3}"},
+        {"guestName": "Dani", "hotelName": "Hacienda", "checkIn": "{today+5}", "checkOut": "{today+3}"},
+        {"op": "CANCEL"},
+        {"op": "CANCEL", "id": 9999}
+      ]
+      """
+    Then the response status should be 200
+    And the batch item statuses should be "201,200,200,400,400,400,400,404"
+    And the response JSON should contain "Guest name cannot be blank"
+    And the response JSON should contain "Check-out must be after check-in"
+    And the response JSON should contain "Cannot update a canceled reservation"
+    When I GET "/api/reservations?hotel=Lighthouse"
+    Then the response JSON should be a list of 1 reservations
+    When I GET "/api/reservations?hotel=Hacienda"
+    Then the response JSON should be a list of 1 reservations
+
   # ==================== UPDATE ====================
 
   Scenario: Successfully update an existing reservation
@@ -82,6 +222,107 @@ Feature: Reservation API
     Then the response status should be 400
     And the response JSON should contain "Check-out must be after check-in"
 
+  Scenario: Update with a matching If-Match version
+    Given an existing reservation with ID 9
+    When I GET "/api/reservations/9"
+    Then the response ETag should be version 1
+    Given I have a valid update request with new hotel name "Ocean Breeze"
+    When I PUT the request to "/api/reservations/9" with If-Match version 1
+    Then the response status should be 200
+    And the response ETag should be version 2
+    And the response JSON should contain '"version":2'
+
+  Scenario: Reject an update with a stale If-Match version
+    Given an existing reservation with ID 10
+    And I have a valid update request with new hotel name "Ocean Breeze"
+    And I PUT the request to "/api/reservations/10" with If-Match version 1
+    When I PUT the request to "/api/reservations/10" with If-Match version 1
+    Then the response status should be 412
+    And the response JSON should contain "Reservation has been modified"
+
+  Scenario: Cancel only when If-Match matches the current version
+    Given an existing reservation with ID 11
+    When I DELETE "/api/reservations/11" with If-Match version 5
+    Then the response status should be 412
+    When I DELETE "/api/reservations/11" with If-Match version 1
+    Then the response status should be 204
+    And the response ETag should be version 2
+
+  Scenario: A cached reservation is refreshed after an update
+    Given an existing reservation with ID 12
+    And I GET "/api/reservations/12"
+    And I GET "/api/reservations"
+    And I have a valid update request with new hotel name "Ocean Breeze"
+    And I PUT the request to "/api/reservations/12" with If-Match version 1
+    When I GET "/api/reservations/12"
+    Then the response status should be 200
+    And the response ETag should be version 2
+    And the response JSON should contain "Ocean Breeze"
+    When I GET "/api/reservations?hotel=Ocean Breeze"
+    Then the response JSON should contain "Ocean Breeze"
+    When I GET "/actuator/response-cache"
+    Then the response status should be 200
+    And the response JSON should contain "evictions"
+
+  Scenario: An unchanged list revalidates with 304
+    Given a reservation for guest "Ana" at hotel "Grand Plaza"
+    And I GET "/api/reservations"
+    When I GET "/api/reservations" again with the last ETag
+    Then the response status should be 304
+    Given a reservation for guest "Luis" at hotel "Grand Plaza"
+    When I GET "/api/reservations" again with the last ETag
+    Then the response status should be 200
+
+  Scenario: Poll only the reservations changed since the last sync
+    Given an existing reservation with ID 13
+    And I GET "/api/reservations/changes"
+    And the response JSON should contain '"full":true'
+    And I note the change sequence
+    And a reservation for guest "Luis" at hotel "Grand Plaza"
+    And I DELETE "/api/reservations/13"
+    When I GET "/api/reservations/changes?since={sequence}"
+    Then the response status should be 200
+    And the change set should hold 2 reservations
+    And the response JSON should contain "CANCELED"
+
+  Scenario: Stream subscribers are pushed reservation changes
+    Given I subscribe to "/api/reservations/stream"
+    When a reservation for guest "Ana" at hotel "Stream Hotel"
+    Then the stream should receive "event:reservation" within 5 seconds
+    And the stream should receive "Stream Hotel" within 5 seconds
+
+  Scenario: A stream resumed from an unknown event id is told to resync
+    Given a reservation for guest "Ana" at hotel "Grand Plaza"
+    When I subscribe to "/api/reservations/stream" with Last-Event-ID 999999
+    Then the stream should receive "event:resync" within 5 seconds
+
+  # ==================== WIRE FORMATS ====================
+
+  Scenario: Exchange reservations as CBOR
+    Given the repository is empty
+    And I have a valid reservation request
+    When I POST the request to "/api/reservations" as CBOR
+    Then the response status should be 201
+    And the response content type should be "application/cbor"
+    And the CBOR response should include guest name "Juan" with epoch-day dates
+    When I GET "/api/reservations" as CBOR
+    Then the response status should be 200
+    And the response content type should be "application/cbor"
+    And the CBOR response should include guest name "Juan" with epoch-day dates
+    When I GET "/api/reservations"
+    Then the response content type should be "application/json"
+    And the response JSON should include guest name "Juan"
+
+  Scenario: Retrieve a reservation by ID as CBOR
+    Given an existing reservation with ID 14
+    When I GET "/api/reservations/14" as CBOR
+    Then the response status should be 200
+    And the response ETag should be version 1
+    And the response content type should be "application/cbor"
+    And the CBOR response should include guest name "Juan" with epoch-day dates
+    When I GET "/api/reservations/14"
+    Then the response content type should be "application/json"
+
   # ==================== DELETE ====================
 
   Scenario: Successfully delete a reservation
@@ -93,3 +334,118 @@ Feature: Reservation API
     When I DELETE "/api/reservations/9999"
     Then the response status should be 404
     And the response JSON should contain "Reservation not found"
+
+  # ==================== NAME DICTIONARY ====================
+
+  Scenario: Repeated hotel names are interned
+    Given a reservation for guest "Ana" at hotel "Grand Plaza"
+    And a reservation for guest "Luis" at hotel "Grand Plaza"
+    When I GET "/actuator/names"
+    Then the response status should be 200
+    And the response JSON should contain "entries"
+    And the response JSON should contain "savedBytes"
+
+  # ==================== METRICS ====================
+
+  Scenario: Health reports store size and service latency
+    Given a reservation for guest "Ana" at hotel "Grand Plaza"
+    When I GET "/actuator/health"
+    Then the response status should be 200
+    And the response JSON should contain '"status":"UP"'
+    And the response JSON should contain "reservations"
+    And the response JSON should contain "p99Ms"
+
+  Scenario: Metrics are exposed in Prometheus format
+    Given I have a reservation request with check-out before check-in
+    And I POST the request to "/api/reservations"
+    And a reservation for guest "Ana" at hotel "Grand Plaza"
+    When I GET "/actuator/prometheus"
+    Then the response status should be 200
+    And the response body should contain "bookingmx_reservations_status"
+    And the response body should contain 'bookingmx_validation_failures_total{reason="check_out_not_after_check_in"'
+    And the response body should contain "bookingmx_service_seconds_bucket"
+    And the response body should contain "http_server_requests_seconds_bucket"
+
+  # ==================== HOTEL INVENTORY ====================
+
+  Scenario: Refuse a booking once every room is taken
+    Given the repository is empty
+    When I PUT the JSON to "/api/hotels/Casita":
+      """
+      {"rooms": 1}
+      """
+    Then the response status should be 200
+    And the response JSON should contain '"rooms":1'
+    Given a reservation for guest "Ana" at hotel "Casita"
+    And I have a valid update request with new hotel name "Casita"
+    When I POST the request to "/api/reservations"
+    Then the response status should be 409
+    And the response JSON should contain "No rooms available at Casita"
+    When I GET "/api/hotels/Casita/availability?from={today+1}&to={today+3}"
+    Then the response status should be 200
+    And the response JSON should contain '"free":0'
+    And the response JSON should contain '"free":1'
+    When I GET "/api/hotels"
+    Then the response JSON should contain "Casita"
+    When I GET "/api/availability?from={today+1}&to={today+2}"
+    Then the response status should be 200
+    And the response JSON should not contain "Casita"
+    When I GET "/api/availability?from={today+2}&to={today+4}&minRooms=1"
+    Then the response JSON should contain '"hotelName":"Casita"'
+    And the response JSON should contain '"free":1'
+
+  Scenario: Fail to set a negative room count
+    When I PUT the JSON to "/api/hotels/Casita":
+      """
+      {"rooms": -1}
+      """
+    Then the response status should be 400
+    And the response JSON should contain "Rooms cannot be negative"
+
+  # ==================== NEARBY CITIES ====================
+
+  Scenario: Nearby cities follow roads over several hops
+    When I GET "/api/cities/Tlaquepaque/nearby?maxKm=60"
+    Then the response status should be 200
+    And the response JSON should contain '"city":"Guadalajara"'
+    And the response JSON should contain '"city":"Tala"'
+    And the response JSON should not contain "Tequila"
+
+  Scenario: Fail to find cities near an unknown one
+    When I GET "/api/cities/Atlantis/nearby"
+    Then the response status should be 404
+    And the response JSON should contain "City not found"
+
+  Scenario: Reject a search radius above the configured maximum
+    When I GET "/api/cities/Tlaquepaque/nearby?maxKm=1e12"
+    Then the response status should be 400
+    And the response JSON should contain "maxKm must be at most"
+
+  Scenario: Hotels near a destination show their booking load
+    Given the repository is empty
+    When I PUT the JSON to "/api/hotels/Hacienda":
+      """
+      {"rooms": 2, "city": "Tala"}
+      """
+    Then the response status should be 200
+    And the response JSON should contain '"city":"Tala"'
+    When I PUT the JSON to "/api/hotels/Tequilera":
+      """
+      {"rooms": 3, "city": "Tequila"}
+      """
+    Given a reservation for guest "Ana" at hotel "Hacienda"
+    When I GET "/api/cities/Tlaquepaque/hotels?maxKm=60&from={today+1}&to={today+3}"
+    Then the response status should be 200
+    And the response JSON should contain '"hotelName":"Hacienda"'
+    And the response JSON should contain '"distance":57.0'
+    And the response JSON should contain '"booked":1'
+    And the response JSON should contain '"free":1'
+    And the response JSON should not contain "Tequilera"
+
+  Scenario: Fail to place a hotel in an unknown city
+    When I PUT the JSON to "/api/hotels/Casita":
+      """
+      {"rooms": 1, "city": "Atlantis"}
+      """
+    Then the response status should be 400
+    And the response JSON should contain "Unknown city: Atlantis"
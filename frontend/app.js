@@ -1,5 +1,5 @@
 import { sampleData, validateGraphData, buildGraph, getNearbyCities } from "./js/graph.js";
-import { listReservations, createReservation, cancelReservation } from "./js/api.js";
+import { listReservations, createReservation, cancelReservation, fetchNearbyCities } from "./js/api.js";
 
 // Graph UI
 const form = document.getElementById("graph-form");
@@ -10,12 +10,18 @@ const nearbyList = document.getElementById("nearby-list");
 const validation = validateGraphData(sampleData);
 const graph = validation.ok ? buildGraph(sampleData.cities, sampleData.edges) : null;
 
-form.addEventListener("submit", (e) => {
+form.addEventListener("submit", async (e) => {
   e.preventDefault();
-  if (!graph) return;
   const dest = destinationEl.value.trim();
   const maxD = Number(maxDistanceEl.value);
-  const results = getNearbyCities(graph, dest, maxD);
+  let results;
+  try {
+    results = await fetchNearbyCities(dest, maxD);
+  } catch {
+    // backend unreachable: fall back to the bundled sample graph (direct roads only)
+    if (!graph) return;
+    results = getNearbyCities(graph, dest, maxD);
+  }
   nearbyList.innerHTML = "";
   if (results.length === 0) {
     nearbyList.innerHTML = `<li>No nearby cities found. Check destination or adjust distance.</li>`;
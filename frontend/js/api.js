@@ -2,11 +2,21 @@
 // Kept simple & modular so you can mock/fake it in Jest tests.
 
 const BASE_URL = "http://localhost:8080/api/reservations";
+const CITIES_URL = "http://localhost:8080/api/cities";
+
+// Local copy kept in sync through /changes: the first call downloads everything,
+// later calls only the reservations created, updated or canceled since the last one.
+let synced = { sequence: null, byId: new Map() };
 
 export async function listReservations() {
-  const res = await fetch(BASE_URL);
+  const query = synced.sequence === null ? "" : `?since=${synced.sequence}`;
+  const res = await fetch(`${BASE_URL}/changes${query}`);
   if (!res.ok) throw new Error("Failed to fetch reservations");
-  return res.json();
+  const changes = await res.json();
+  if (changes.full) synced.byId = new Map();
+  for (const r of changes.reservations) synced.byId.set(r.id, r);
+  synced.sequence = changes.sequence;
+  return [...synced.byId.values()].sort((a, b) => a.id - b.id);
 }
 
 export async function createReservation(payload) {
@@ -34,3 +44,11 @@ export async function cancelReservation(id) {
   if (!res.ok) throw new Error((await res.json()).message || "Cancel failed");
   return res.json();
 }
+
+// Cities within maxKm of destination by shortest road distance (any number of hops), nearest first.
+export async function fetchNearbyCities(destination, maxKm) {
+  const res = await fetch(`${CITIES_URL}/${encodeURIComponent(destination)}/nearby?maxKm=${encodeURIComponent(maxKm)}`);
+  if (res.status === 404) return [];
+  if (!res.ok) throw new Error((await res.json()).message || "Nearby search failed");
+  return res.json();
+}